@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan;
+
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Content addressed store of file bodies, shared by working and committed files of all projects.
+ * Identical content is kept once and counted by reference, it is dropped when the last file pointing to it is removed.
+ * Bodies not read for a while can be moved to LZ4 compressed off-heap buffers, a body read a second time is restored to the heap.
+ */
+final class BlobStore {
+
+    // smaller bodies are not worth a buffer of their own
+    private static final int COLD_MIN_SIZE = 512;
+    private static final FramedLZ4CompressorOutputStream.Parameters LZ4_PARAMETERS =
+            new FramedLZ4CompressorOutputStream.Parameters(FramedLZ4CompressorOutputStream.BlockSize.K64);
+
+    static final class Blob {
+
+        private final String hash;
+        // the body, a String on the heap or a compressed off-heap ByteBuffer, replaced as a whole so reads need no lock
+        private final AtomicReference<Object> body;
+        private volatile long lastAccess = System.currentTimeMillis();
+        // set by the first read of a cold body, the second one moves it back to the heap
+        private volatile boolean readWhileCold = false;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Blob(String hash, String content) {
+            this.hash = hash;
+            this.body = new AtomicReference<>(content);
+        }
+
+        String hash() {
+            return hash;
+        }
+
+        /**
+         * A cold body is decompressed without holding a monitor, so it does not pin the carrier of a virtual thread.
+         * A single read (a bulk read of all files) leaves it off-heap, a body read again before the next freeze is hot again
+         * and moves back to the heap.
+         */
+        String content() {
+            lastAccess = System.currentTimeMillis();
+            Object current = body.get();
+            if (current instanceof String content) {
+                return content;
+            }
+            String content = decompress((ByteBuffer) current);
+            if (readWhileCold) {
+                // a concurrent freeze or thaw wins, the content is the same either way
+                body.compareAndSet(current, content);
+            } else {
+                readWhileCold = true;
+            }
+            return content;
+        }
+
+        /**
+         * Moves the body off-heap if it was not read since the given time
+         *
+         * @return true if the body was moved
+         */
+        boolean freeze(long notReadSince) {
+            lock.lock();
+            try {
+                Object current = body.get();
+                if (!(current instanceof String content) || lastAccess > notReadSince || content.length() < COLD_MIN_SIZE) {
+                    return false;
+                }
+                readWhileCold = false;
+                return body.compareAndSet(current, compress(content));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Blob blob;
+        private int references = 0;
+
+        private Entry(Blob blob) {
+            this.blob = blob;
+        }
+    }
+
+    private final Map<String, Entry> blobs = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared blob of the content and adds a reference to it, null content has no blob
+     */
+    Blob acquire(String content) {
+        if (content == null) {
+            return null;
+        }
+        Blob blob = blobs.compute(hash(content), (hash, entry) -> {
+            if (entry == null) {
+                entry = new Entry(new Blob(hash, content));
+            }
+            entry.references++;
+            return entry;
+        }).blob;
+        blob.lastAccess = System.currentTimeMillis();
+        return blob;
+    }
+
+    /**
+     * Adds a reference to a blob already held by the caller
+     */
+    Blob retain(Blob blob) {
+        if (blob != null) {
+            blobs.compute(blob.hash(), (hash, entry) -> {
+                if (entry == null) {
+                    entry = new Entry(blob);
+                }
+                entry.references++;
+                return entry;
+            });
+        }
+        return blob;
+    }
+
+    void release(Blob blob) {
+        if (blob != null) {
+            blobs.computeIfPresent(blob.hash(), (hash, entry) -> --entry.references > 0 ? entry : null);
+        }
+    }
+
+    /**
+     * Moves bodies not read since the given time to compressed off-heap buffers,
+     * a buffer is freed by the garbage collector once its blob is dropped or restored to the heap
+     *
+     * @return number of moved bodies
+     */
+    int freeze(long notReadSince) {
+        int count = 0;
+        for (Entry entry : blobs.values()) {
+            if (entry.blob.freeze(notReadSince)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static ByteBuffer compress(String content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length() / 3);
+        try (FramedLZ4CompressorOutputStream lz4 = new FramedLZ4CompressorOutputStream(out, LZ4_PARAMETERS)) {
+            lz4.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] bytes = out.toByteArray();
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+    }
+
+    private static String decompress(ByteBuffer compressed) {
+        byte[] bytes = new byte[compressed.remaining()];
+        compressed.duplicate().get(bytes);
+        try (FramedLZ4CompressorInputStream lz4 = new FramedLZ4CompressorInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(lz4.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String hash(String content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.camel.karavan;
 
 import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.inject.Default;
 import jakarta.inject.Inject;
@@ -24,12 +25,17 @@ import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 import org.apache.camel.karavan.model.*;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static org.apache.camel.karavan.KaravanConstants.DEV;
@@ -40,18 +46,75 @@ import static org.apache.camel.karavan.KaravanEvents.*;
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class KaravanCache {
 
-    private final Map<String, Project> projects = new ConcurrentHashMap<>();
-    private final Map<String, ProjectFile> files = new ConcurrentHashMap<>();
-    private final Map<String, ProjectFile> filesCommited = new ConcurrentHashMap<>();
+    public static final String FILE_NEW = "NEW";
+    public static final String FILE_CHANGED = "CHANGED";
+    public static final String FILE_DELETED = "DELETED";
 
-    private final Map<String, DeploymentStatus> deploymentStatuses = new ConcurrentHashMap<>();
-    private final Map<String, PodContainerStatus> podContainerStatuses = new ConcurrentHashMap<>();
+    private final Map<String, Project> projects = new ConcurrentHashMap<>();
+    // working and committed files point to shared bodies in the blob store
+    private final BlobStore blobStore = new BlobStore();
+    private final Map<String, StoredFile> files = new ConcurrentHashMap<>();
+    private final Map<String, StoredFile> filesCommited = new ConcurrentHashMap<>();
+    // per project: file name -> NEW, CHANGED or DELETED against the last commit, maintained on every file change
+    private final Map<String, Map<String, String>> fileChanges = new ConcurrentHashMap<>();
+
+    private final StatusMap<DeploymentStatus> deploymentStatuses = new StatusMap<>(DeploymentStatus::getEnv);
+    private final StatusMap<PodContainerStatus> podContainerStatuses = new StatusMap<>(PodContainerStatus::getEnv);
     private final Map<String, Boolean> transits = new ConcurrentHashMap<>();
-    private final Map<String, ServiceStatus> serviceStatuses = new ConcurrentHashMap<>();
-    private final Map<String, CamelStatus> camelStatuses = new ConcurrentHashMap<>();
+    private final StatusMap<ServiceStatus> serviceStatuses = new StatusMap<>(ServiceStatus::getEnv);
+    private final StatusMap<CamelStatus> camelStatuses = new StatusMap<>(CamelStatus::getEnv);
+
+    private final Map<Entity, AtomicLong> versions = new EnumMap<>(Map.of(
+            Entity.PROJECTS, new AtomicLong(),
+            Entity.FILES, new AtomicLong(),
+            Entity.DEPLOYMENT_STATUSES, new AtomicLong(),
+            Entity.SERVICE_STATUSES, new AtomicLong(),
+            Entity.POD_CONTAINER_STATUSES, new AtomicLong(),
+            Entity.CAMEL_STATUSES, new AtomicLong()
+    ));
 
     private final EventBus eventBus;
 
+    private record StoredFile(String projectId, String name, Long lastUpdate, BlobStore.Blob blob) {
+
+        String hash() {
+            return blob != null ? blob.hash() : null;
+        }
+
+        ProjectFile toProjectFile() {
+            return new ProjectFile(name, blob != null ? blob.content() : null, projectId, lastUpdate);
+        }
+    }
+
+    public enum Entity {
+        PROJECTS,
+        FILES,
+        DEPLOYMENT_STATUSES,
+        SERVICE_STATUSES,
+        POD_CONTAINER_STATUSES,
+        CAMEL_STATUSES
+    }
+
+    /**
+     * Version of a collection, incremented after every change of the collection
+     */
+    public long getVersion(Entity entity) {
+        return versions.get(entity).get();
+    }
+
+    private void changed(Entity entity) {
+        versions.get(entity).incrementAndGet();
+    }
+
+    /**
+     * Status collections are saved on every informer event and poll, the version moves only if the stored value differs
+     */
+    private void changedIf(boolean changed, Entity entity) {
+        if (changed) {
+            changed(entity);
+        }
+    }
+
     public List<Project> getProjects() {
         return new ArrayList<>(getCopyProjects());
     }
@@ -69,97 +132,201 @@ public class KaravanCache {
         if (!startup) {
             eventBus.publish(PROJECT_SAVED, JsonObject.mapFrom(project));
         }
+        changed(Entity.PROJECTS);
     }
 
     public Map<String, ProjectFile> getProjectFilesMap(String projectId) {
-        return getCopyProjectFilesMap().entrySet().stream()
-                .filter(es -> !Objects.isNull(es.getValue()) && Objects.equals(es.getValue().getProjectId(), projectId))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
-    private Map<String, ProjectFile> getCopyProjectFilesMap() {
-        Map<String, ProjectFile> copy = new ConcurrentHashMap<>(files.size());
-        files.forEach((key, value) -> copy.put(key, value.copy()));
-        return copy;
+        Map<String, ProjectFile> result = new HashMap<>();
+        files.forEach((key, value) -> {
+            if (Objects.equals(value.projectId(), projectId)) {
+                result.put(key, value.toProjectFile());
+            }
+        });
+        return result;
     }
 
     public ProjectFile getProjectFile(String projectId, String filename) {
-        List<ProjectFile> list = getCopyProjectFiles().stream().filter(pf -> Objects.equals(pf.getProjectId(), projectId) && Objects.equals(pf.getName(), filename)).toList();
-        return !list.isEmpty() ? list.getFirst() : null;
-    }
-
-    private List<ProjectFile> getCopyProjectFiles() {
-        List<ProjectFile> copy = new ArrayList<>(files.size());
-        files.values().forEach(e -> copy.add(e.copy()));
-        return copy;
+        var file = files.get(GroupedKey.create(projectId, DEV, filename));
+        return file != null ? file.toProjectFile() : null;
     }
 
     public List<ProjectFile> getProjectFilesByName(String filename) {
-        return getCopyProjectFiles().stream().filter(pf -> Objects.equals(pf.getName(), filename)).toList();
+        return files.values().stream().filter(pf -> Objects.equals(pf.name(), filename)).map(StoredFile::toProjectFile).toList();
     }
 
     public void saveProjectFile(ProjectFile file, boolean commited, boolean startup) {
-        files.put(GroupedKey.create(file.getProjectId(), DEV, file.getName()), file);
+        var key = GroupedKey.create(file.getProjectId(), DEV, file.getName());
+        var stored = store(file);
+        put(files, key, stored);
         if (!startup) {
             eventBus.publish(PROJECT_FILE_SAVED, JsonObject.mapFrom(file));
         }
         if (commited) {
-            filesCommited.put(GroupedKey.create(file.getProjectId(), DEV, file.getName()), file);
+            put(filesCommited, key, retain(stored));
         }
+        updateFileChange(file.getProjectId(), file.getName());
+        changed(Entity.FILES);
     }
 
+    /**
+     * Marks the working version of the files as committed, files without a working version are no longer committed
+     */
     public void syncFilesCommited(String projectId, List<String> fileNames) {
-        List<String> currentFileNames = new ArrayList<>();
-        getProjectFilesCommited(projectId).stream().filter(file -> fileNames.contains(file.getName()))
-                .forEach(pf -> currentFileNames.add(pf.getName()));
-
-        currentFileNames.forEach(name -> deleteProjectFileCommited(projectId, name));
-        getProjectFiles(projectId).stream().filter(file -> fileNames.contains(file.getName()))
-                .forEach(f -> saveProjectFileCommited(f.copy()));
+        fileNames.forEach(name -> {
+            var key = GroupedKey.create(projectId, DEV, name);
+            var file = files.get(key);
+            if (file != null) {
+                put(filesCommited, key, retain(file));
+            } else {
+                remove(filesCommited, key);
+            }
+            updateFileChange(projectId, name);
+        });
+        changed(Entity.FILES);
     }
 
     public List<ProjectFile> getProjectFilesCommited(String projectId) {
-        return getCopyProjectFilesCommited().stream().filter(pf -> Objects.equals(pf.getProjectId(), projectId)).toList();
+        return filesCommited.values().stream().filter(pf -> Objects.equals(pf.projectId(), projectId)).map(StoredFile::toProjectFile).toList();
     }
 
     public void deleteProjectFileCommited(String projectId, String filename) {
-        filesCommited.remove(GroupedKey.create(projectId, DEV, filename));
+        remove(filesCommited, GroupedKey.create(projectId, DEV, filename));
+        updateFileChange(projectId, filename);
+        changed(Entity.FILES);
     }
 
     public List<ProjectFile> getProjectFiles(String projectId) {
-        return getCopyProjectFiles().stream().filter(pf -> Objects.equals(pf.getProjectId(), projectId)).toList();
+        return files.values().stream().filter(pf -> Objects.equals(pf.projectId(), projectId)).map(StoredFile::toProjectFile).toList();
     }
 
     public void saveProjectFileCommited(ProjectFile file) {
-        filesCommited.put(GroupedKey.create(file.getProjectId(), DEV, file.getName()), file);
-    }
-
-    private List<ProjectFile> getCopyProjectFilesCommited() {
-        List<ProjectFile> copy = new ArrayList<>(filesCommited.size());
-        filesCommited.values().forEach(e -> copy.add(e.copy()));
-        return copy;
+        put(filesCommited, GroupedKey.create(file.getProjectId(), DEV, file.getName()), store(file));
+        updateFileChange(file.getProjectId(), file.getName());
+        changed(Entity.FILES);
     }
 
     public void saveProjectFiles(Map<String, ProjectFile> filesToSave, boolean startup) {
         long lastUpdate = Instant.now().toEpochMilli();
         filesToSave.forEach((groupedKey, projectFile) -> projectFile.setLastUpdate(lastUpdate));
-        files.putAll(filesToSave);
-        if (!startup) {
-            files.forEach((s, file) -> eventBus.publish(PROJECT_FILE_SAVED, JsonObject.mapFrom(file)));
+        updateProjectFiles(filesToSave.values(), List.of(), false, startup);
+    }
+
+    public void deleteProjectFiles(String projectId, Collection<String> filenames, boolean startup) {
+        updateProjectFiles(List.of(), filenames.stream().map(name -> new GroupedKey(projectId, DEV, name)).toList(), false, startup);
+    }
+
+    /**
+     * Saves and deletes files of one or more projects and publishes a single PROJECT_FILES_CHANGED event for the whole batch
+     */
+    public void updateProjectFiles(Collection<ProjectFile> filesToSave, Collection<GroupedKey> filesToDelete, boolean commited, boolean startup) {
+        JsonArray saved = new JsonArray(new ArrayList<>(filesToSave.size()));
+        JsonArray deleted = new JsonArray(new ArrayList<>(filesToDelete.size()));
+        filesToSave.forEach(file -> {
+            var key = GroupedKey.create(file.getProjectId(), DEV, file.getName());
+            var stored = store(file);
+            put(files, key, stored);
+            if (commited) {
+                put(filesCommited, key, retain(stored));
+            }
+            updateFileChange(file.getProjectId(), file.getName());
+            if (!startup) {
+                saved.add(JsonObject.mapFrom(file));
+            }
+        });
+        filesToDelete.forEach(key -> {
+            remove(files, key.getCacheKey());
+            updateFileChange(key.getProjectId(), key.getKey());
+            if (!startup) {
+                deleted.add(JsonObject.mapFrom(key));
+            }
+        });
+        if (!startup && (!saved.isEmpty() || !deleted.isEmpty())) {
+            eventBus.publish(PROJECT_FILES_CHANGED, JsonObject.of("saved", saved, "deleted", deleted));
         }
+        changed(Entity.FILES);
     }
 
     public void deleteProjectFile(String projectId, String filename, boolean startup) {
         var key = new GroupedKey(projectId, DEV, filename);
-        files.remove(key.getCacheKey());
+        remove(files, key.getCacheKey());
+        updateFileChange(projectId, filename);
         if (!startup) {
             eventBus.publish(PROJECT_FILE_DELETED, JsonObject.mapFrom(key));
         }
+        changed(Entity.FILES);
     }
 
     public ProjectFile getProjectFileCommited(String projectId, String filename) {
-        List<ProjectFile> list = getCopyProjectFilesCommited().stream().filter(pf -> Objects.equals(pf.getProjectId(), projectId) && Objects.equals(pf.getName(), filename)).toList();
-        return !list.isEmpty() ? list.getFirst() : null;
+        var file = filesCommited.get(GroupedKey.create(projectId, DEV, filename));
+        return file != null ? file.toProjectFile() : null;
+    }
+
+    /**
+     * Moves bodies of files not read for the given time to compressed off-heap buffers
+     *
+     * @return number of moved file bodies
+     */
+    public int freezeFiles(Duration notReadFor) {
+        return blobStore.freeze(System.currentTimeMillis() - notReadFor.toMillis());
+    }
+
+    private StoredFile store(ProjectFile file) {
+        return new StoredFile(file.getProjectId(), file.getName(), file.getLastUpdate(), blobStore.acquire(file.getCode()));
+    }
+
+    private StoredFile retain(StoredFile file) {
+        blobStore.retain(file.blob());
+        return file;
+    }
+
+    // the new blob is referenced before the replaced one is released, content kept by both is never dropped
+    private void put(Map<String, StoredFile> map, String key, StoredFile file) {
+        var previous = map.put(key, file);
+        if (previous != null) {
+            blobStore.release(previous.blob());
+        }
+    }
+
+    private void remove(Map<String, StoredFile> map, String key) {
+        var previous = map.remove(key);
+        if (previous != null) {
+            blobStore.release(previous.blob());
+        }
+    }
+
+    /**
+     * Files of the project that differ from the last commit: file name -> NEW, CHANGED or DELETED
+     */
+    public Map<String, String> getFileChanges(String projectId) {
+        var changes = fileChanges.get(projectId);
+        return changes != null ? new HashMap<>(changes) : new HashMap<>();
+    }
+
+    // recomputes the change of one file under the project entry lock, the last update of a file always sees its latest state
+    private void updateFileChange(String projectId, String filename) {
+        String key = GroupedKey.create(projectId, DEV, filename);
+        fileChanges.compute(projectId, (id, changes) -> {
+            String change = getFileChange(files.get(key), filesCommited.get(key));
+            if (changes == null) {
+                changes = new ConcurrentHashMap<>();
+            }
+            if (change != null) {
+                changes.put(filename, change);
+            } else {
+                changes.remove(filename);
+            }
+            return changes.isEmpty() ? null : changes;
+        });
+    }
+
+    // blobs are content addressed, equal hashes mean equal content
+    private static String getFileChange(StoredFile file, StoredFile fileCommited) {
+        if (file == null) {
+            return fileCommited != null ? FILE_DELETED : null;
+        } else if (fileCommited == null) {
+            return FILE_NEW;
+        }
+        return Objects.equals(file.hash(), fileCommited.hash()) ? null : FILE_CHANGED;
     }
 
     public void deleteProject(String projectId, boolean startup) {
@@ -168,6 +335,7 @@ public class KaravanCache {
         if (!startup) {
             eventBus.publish(PROJECT_DELETED, JsonObject.mapFrom(key));
         }
+        changed(Entity.PROJECTS);
     }
 
     public Project getProject(String projectId) {
@@ -179,11 +347,13 @@ public class KaravanCache {
     }
 
     public void saveDeploymentStatus(DeploymentStatus status) {
-        deploymentStatuses.put(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getProjectId()), status);
+        var previous = deploymentStatuses.put(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getProjectId()), status);
+        changedIf(!Objects.equals(previous, status), Entity.DEPLOYMENT_STATUSES);
     }
 
     public void deleteDeploymentStatus(DeploymentStatus status) {
-        deploymentStatuses.remove(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getProjectId()));
+        var previous = deploymentStatuses.remove(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getProjectId()));
+        changedIf(previous != null, Entity.DEPLOYMENT_STATUSES);
     }
 
     public List<DeploymentStatus> getDeploymentStatuses() {
@@ -197,23 +367,34 @@ public class KaravanCache {
     }
 
     public List<DeploymentStatus> getDeploymentStatuses(String env) {
-        return getCopyDeploymentStatuses().stream().filter(pf -> Objects.equals(pf.getEnv(), env)).toList();
+        return deploymentStatuses.getByEnv(env).stream().map(DeploymentStatus::copy).toList();
     }
 
     public void deleteAllDeploymentsStatuses() {
         deploymentStatuses.clear();
+        changed(Entity.DEPLOYMENT_STATUSES);
     }
 
     public void saveServiceStatus(ServiceStatus status) {
-        serviceStatuses.put(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getProjectId()), status);
+        var previous = serviceStatuses.put(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getProjectId()), status);
+        changedIf(!Objects.equals(previous, status), Entity.SERVICE_STATUSES);
     }
 
     public void deleteServiceStatus(ServiceStatus status) {
-        serviceStatuses.remove(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getProjectId()));
+        var previous = serviceStatuses.remove(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getProjectId()));
+        changedIf(previous != null, Entity.SERVICE_STATUSES);
+    }
+
+    public ServiceStatus getServiceStatus(String projectId, String environment) {
+        return serviceStatuses.get(GroupedKey.create(projectId, environment, projectId));
     }
 
     public List<ServiceStatus> getServiceStatuses() {
-        return new ArrayList<>(serviceStatuses.values());
+        return serviceStatuses.values().stream().map(ServiceStatus::copy).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public List<ServiceStatus> getServiceStatuses(String env) {
+        return serviceStatuses.getByEnv(env).stream().map(ServiceStatus::copy).toList();
     }
 
     public List<Boolean> getTransits() {
@@ -239,7 +420,7 @@ public class KaravanCache {
     }
 
     public List<PodContainerStatus> getPodContainerStatuses(String projectId, String env) {
-        return getCopyPodContainerStatuses().stream().filter(el -> Objects.equals(el.getProjectId(), projectId) && Objects.equals(el.getEnv(), env)).toList();
+        return podContainerStatuses.getByEnv(env).stream().filter(el -> Objects.equals(el.getProjectId(), projectId)).map(PodContainerStatus::copy).toList();
     }
 
     public PodContainerStatus getPodContainerStatus(String projectId, String env, String containerName) {
@@ -255,7 +436,7 @@ public class KaravanCache {
     }
 
     public List<PodContainerStatus> getPodContainerStatuses(String env) {
-        return getCopyPodContainerStatuses().stream().filter(el -> Objects.equals(el.getEnv(), env)).toList();
+        return podContainerStatuses.getByEnv(env).stream().map(PodContainerStatus::copy).toList();
     }
 
     public PodContainerStatus getDevModePodContainerStatus(String projectId, String env) {
@@ -267,19 +448,23 @@ public class KaravanCache {
     }
 
     public void savePodContainerStatus(PodContainerStatus status) {
-        podContainerStatuses.put(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getContainerName()), status);
+        var previous = podContainerStatuses.put(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getContainerName()), status);
+        changedIf(!Objects.equals(previous, status), Entity.POD_CONTAINER_STATUSES);
     }
 
     public void deletePodContainerStatus(PodContainerStatus status) {
-        podContainerStatuses.remove(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getContainerName()));
+        var previous = podContainerStatuses.remove(GroupedKey.create(status.getProjectId(), status.getEnv(), status.getContainerName()));
+        changedIf(previous != null, Entity.POD_CONTAINER_STATUSES);
     }
 
     public void deleteAllPodContainersStatuses() {
         podContainerStatuses.clear();
+        changed(Entity.POD_CONTAINER_STATUSES);
     }
 
     public void deletePodContainerStatus(String projectId, String env, String containerName) {
-        podContainerStatuses.remove(GroupedKey.create(projectId, env, containerName));
+        var previous = podContainerStatuses.remove(GroupedKey.create(projectId, env, containerName));
+        changedIf(previous != null, Entity.POD_CONTAINER_STATUSES);
     }
 
     public CamelStatus getCamelStatus(String projectId, String env, String containerName) {
@@ -309,29 +494,33 @@ public class KaravanCache {
     }
 
     public List<CamelStatus> getCamelStatusesByProjectAndEnv(String projectId, String env) {
-        return getCopyCamelStatuses().stream().filter(el -> Objects.equals(el.getProjectId(), projectId) && Objects.equals(el.getEnv(), env)).toList();
+        return camelStatuses.getByEnv(env).stream().filter(el -> Objects.equals(el.getProjectId(), projectId)).map(CamelStatus::copy).toList();
     }
 
     public void saveCamelStatus(CamelStatus status) {
         var key = GroupedKey.create(status.getProjectId(), status.getEnv(), status.getContainerName());
-        camelStatuses.put(key, status);
+        var previous = camelStatuses.put(key, status);
+        changedIf(!Objects.equals(previous, status), Entity.CAMEL_STATUSES);
     }
 
     public void deleteCamelStatus(String projectId, String name, String env) {
         var key = GroupedKey.create(projectId, env, name);
-        camelStatuses.remove(key);
+        var previous = camelStatuses.remove(key);
+        changedIf(previous != null, Entity.CAMEL_STATUSES);
     }
 
     public void deleteCamelStatuses(String projectId, String env) {
-        getCopyCamelStatuses().stream().filter(el -> Objects.equals(el.getProjectId(), projectId) && Objects.equals(el.getEnv(), env))
+        camelStatuses.getByEnv(env).stream().filter(el -> Objects.equals(el.getProjectId(), projectId))
                 .forEach(s -> {
                     var key = GroupedKey.create(projectId, env, s.getContainerName());
                     camelStatuses.remove(key);
                 });
+        changed(Entity.CAMEL_STATUSES);
     }
 
     public void deleteAllCamelStatuses() {
         camelStatuses.clear();
+        changed(Entity.CAMEL_STATUSES);
     }
 
     public List<PodContainerStatus> getLoadedDevModeStatuses() {
@@ -343,12 +532,26 @@ public class KaravanCache {
     }
 
     public List<PodContainerStatus> getContainerStatusByEnv(String env) {
-        return getCopyPodContainerStatuses().stream().filter(el -> Objects.equals(el.getEnv(), env)).toList();
+        return getPodContainerStatuses(env);
+    }
+
+    public void clearStatuses(String env) {
+        deploymentStatuses.clearEnv(env);
+        serviceStatuses.clearEnv(env);
+        podContainerStatuses.clearEnv(env);
+        camelStatuses.clearEnv(env);
+        changed(Entity.DEPLOYMENT_STATUSES);
+        changed(Entity.SERVICE_STATUSES);
+        changed(Entity.POD_CONTAINER_STATUSES);
+        changed(Entity.CAMEL_STATUSES);
     }
 
     public void clearAllStatuses() {
         deploymentStatuses.clear();
         podContainerStatuses.clear();
         camelStatuses.clear();
+        changed(Entity.DEPLOYMENT_STATUSES);
+        changed(Entity.POD_CONTAINER_STATUSES);
+        changed(Entity.CAMEL_STATUSES);
     }
 }
\ No newline at end of file
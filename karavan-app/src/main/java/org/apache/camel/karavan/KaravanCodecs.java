@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.Json;
+import org.apache.camel.karavan.model.CamelStatusRequest;
+import org.apache.camel.karavan.model.DeploymentStatus;
+import org.apache.camel.karavan.model.PodContainerStatus;
+import org.apache.camel.karavan.model.ServiceStatus;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Event bus codecs for model types sent between Karavan components.
+ * Local delivery hands over a shallow copy (or the reference itself for read-only requests) instead of a JSON round trip,
+ * JSON is used only on the wire when the event bus is clustered.
+ * Codecs are registered as default codecs of their types through the consumers {@code @ConsumeEvent(codec = ...)}.
+ */
+public class KaravanCodecs {
+
+    public static class PodContainerStatusCodec extends LocalCodec<PodContainerStatus> {
+        public PodContainerStatusCodec() {
+            super(PodContainerStatus.class, PodContainerStatus::copy);
+        }
+    }
+
+    public static class DeploymentStatusCodec extends LocalCodec<DeploymentStatus> {
+        public DeploymentStatusCodec() {
+            super(DeploymentStatus.class, DeploymentStatus::copy);
+        }
+    }
+
+    public static class ServiceStatusCodec extends LocalCodec<ServiceStatus> {
+        public ServiceStatusCodec() {
+            super(ServiceStatus.class, ServiceStatus::copy);
+        }
+    }
+
+    public static class CamelStatusRequestCodec extends LocalCodec<CamelStatusRequest> {
+        public CamelStatusRequestCodec() {
+            super(CamelStatusRequest.class, UnaryOperator.identity());
+        }
+    }
+
+    public abstract static class LocalCodec<T> implements MessageCodec<T, T> {
+
+        private final Class<T> type;
+        private final UnaryOperator<T> copy;
+
+        protected LocalCodec(Class<T> type, UnaryOperator<T> copy) {
+            this.type = type;
+            this.copy = copy;
+        }
+
+        @Override
+        public void encodeToWire(Buffer buffer, T value) {
+            Buffer json = Json.encodeToBuffer(value);
+            buffer.appendInt(json.length());
+            buffer.appendBuffer(json);
+        }
+
+        @Override
+        public T decodeFromWire(int pos, Buffer buffer) {
+            int length = buffer.getInt(pos);
+            return Json.decodeValue(buffer.slice(pos + 4, pos + 4 + length), type);
+        }
+
+        @Override
+        public T transform(T value) {
+            return copy.apply(value);
+        }
+
+        @Override
+        public String name() {
+            return "karavan-" + type.getSimpleName();
+        }
+
+        @Override
+        public byte systemCodecID() {
+            return -1;
+        }
+    }
+}
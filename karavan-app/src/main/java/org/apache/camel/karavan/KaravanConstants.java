@@ -34,6 +34,20 @@ public class KaravanConstants {
 
     public static final String BUILDER_SUFFIX = "-builder";
 
+    public static final String M2_REPOSITORY_PATH = "/karavan/.m2/repository";
+    public static final String M2_SHARED_PATH = "/karavan/.m2/shared";
+    public static final String M2_SEED_CONTAINER = "karavan-m2-seed";
+    // Maven reads artifacts missing in the project repository from the shared one and never writes to it
+    public static final String ENV_VAR_MAVEN_OPTS = "MAVEN_OPTS";
+    public static final String M2_SHARED_MAVEN_OPTS = "-Dmaven.repo.local.tail=" + M2_SHARED_PATH;
+    // copies the repository of the devmode image once per image into a temp folder of the shared volume, then renames
+    // every file into place, so a reader never sees a half copied file, the marker is written last
+    public static final String M2_SEED_SCRIPT = "KEY=$(echo \"$DEVMODE_IMAGE\" | tr '/:@' '___'); "
+            + "MARK=" + M2_SHARED_PATH + "/.seeded-$KEY; TMP=" + M2_SHARED_PATH + "/.seeding-$KEY-$(hostname); "
+            + "[ -f \"$MARK\" ] || { rm -rf \"$TMP\" && mkdir -p \"$TMP\" && cp -a " + M2_REPOSITORY_PATH + "/. \"$TMP\"/ "
+            + "&& cd \"$TMP\" && find . -type f -exec sh -c 'for f; do mkdir -p \"$0/${f%/*}\" && mv -f \"$f\" \"$0/$f\"; done' "
+            + M2_SHARED_PATH + " {} + && cd / && rm -rf \"$TMP\" && touch \"$MARK\"; }";
+
     public static final String CAMEL_PREFIX = "camel";
 
     public static final String BUILD_SCRIPT_VOLUME_NAME = "build-script";
@@ -22,6 +22,7 @@ public class KaravanEvents {
     public static final String PROJECT_DELETED = "PROJECT_DELETED";
     public static final String PROJECT_FILE_SAVED = "PROJECT_FILE_SAVED";
     public static final String PROJECT_FILE_DELETED = "PROJECT_FILE_DELETED";
+    public static final String PROJECT_FILES_CHANGED = "PROJECT_FILES_CHANGED";
 
     public static final String CMD_PUSH_PROJECT = "CMD_PUSH_PROJECT";
 
@@ -53,4 +54,8 @@ public class KaravanEvents {
     public static final String SERVICE_UPDATED = "SERVICE_UPDATED";
     public static final String SERVICE_DELETED = "SERVICE_DELETED";
 
+    public static final String BUILD_QUEUE_UPDATED = "BUILD_QUEUE_UPDATED";
+
+    public static final String IMAGE_PULL_UPDATED = "IMAGE_PULL_UPDATED";
+
 }
@@ -33,6 +33,7 @@ import org.apache.camel.karavan.model.ProjectFile;
 import org.apache.camel.karavan.service.CodeService;
 import org.apache.camel.karavan.service.ConfigService;
 import org.apache.camel.karavan.service.GitService;
+import org.apache.camel.karavan.service.GitSyncService;
 import org.apache.camel.karavan.service.ProjectService;
 import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.HealthCheckResponse;
@@ -58,6 +59,7 @@ public class KaravanStartupLoader implements HealthCheck {
     private final KaravanCache karavanCache;
     private final DockerService dockerService;
     private final GitService gitService;
+    private final GitSyncService gitSyncService;
     private final CodeService codeService;
     private final EventBus eventBus;
 
@@ -129,6 +131,7 @@ public class KaravanStartupLoader implements HealthCheck {
                     karavanCache.saveProjectFile(file, true, true);
                 });
             });
+            gitSyncService.imported(gitService.getImportedHead());
         } catch (Exception e) {
             log.error("Error during project import", e);
         }
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan;
+
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Default;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.config.KaravanProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Virtual thread workers for event bus consumers, a semaphore per category limits how many tasks run at once.
+ * Heavy work (git, docker pulls) can not starve light work (status updates) because every category has its own permits.
+ * Tasks are dispatched in submission order, so a category with concurrency 1 runs them one after another.
+ * Long-lived tasks (log tails, image pulls) run on their own virtual threads and do not take permits of any category.
+ */
+@Slf4j
+@Default
+@Singleton
+public class KaravanWorkers {
+
+    public enum Category {
+        STATUS,
+        NOTIFICATION,
+        STATISTICS,
+        COMMAND,
+        GIT,
+        DOCKER
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private final Map<Category, Worker> workers = new EnumMap<>(Category.class);
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final ThreadFactory streamFactory = Thread.ofVirtual().name("karavan-stream-", 0).factory();
+    private volatile boolean stopped = false;
+
+    @Inject
+    public KaravanWorkers(KaravanProperties properties) {
+        var config = properties.workers();
+        workers.put(Category.STATUS, new Worker(Category.STATUS, config.status()));
+        workers.put(Category.NOTIFICATION, new Worker(Category.NOTIFICATION, config.notification()));
+        workers.put(Category.STATISTICS, new Worker(Category.STATISTICS, config.statistics()));
+        workers.put(Category.COMMAND, new Worker(Category.COMMAND, config.command()));
+        workers.put(Category.GIT, new Worker(Category.GIT, config.git()));
+        workers.put(Category.DOCKER, new Worker(Category.DOCKER, config.docker()));
+    }
+
+    public void execute(Category category, Task task) {
+        workers.get(category).submit(() -> run(category.toString(), task));
+    }
+
+    /**
+     * Starts a task on its own virtual thread, for tasks blocked for long (log tails)
+     * or limited by their own semaphore (image pulls, see DockerPullCoordinator)
+     */
+    public void stream(String name, Task task) {
+        start(streamFactory, () -> run("stream " + name, task));
+    }
+
+    private void run(String name, Task task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("Error in " + name + " worker: " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+        }
+    }
+
+    private boolean start(ThreadFactory factory, Runnable runnable) {
+        if (stopped) {
+            return false;
+        }
+        Thread thread = factory.newThread(() -> {
+            try {
+                runnable.run();
+            } finally {
+                threads.remove(Thread.currentThread());
+            }
+        });
+        threads.add(thread);
+        thread.start();
+        return true;
+    }
+
+    void onStop(@Observes ShutdownEvent ev) throws InterruptedException {
+        stopped = true;
+        threads.forEach(Thread::interrupt);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (Thread thread : threads) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0 || !thread.join(Duration.ofNanos(left))) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Queue of one category, a virtual thread is started for a task only when a permit is free.
+     * A started thread keeps polling the queue until it is empty, then gives the permit back.
+     */
+    private final class Worker {
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final Semaphore permits;
+        private final ThreadFactory factory;
+
+        private Worker(Category category, int concurrency) {
+            this.permits = new Semaphore(Math.max(1, concurrency));
+            this.factory = Thread.ofVirtual().name("karavan-" + category.name().toLowerCase() + "-", 0).factory();
+        }
+
+        private void submit(Runnable runnable) {
+            queue.add(runnable);
+            dispatch();
+        }
+
+        private void dispatch() {
+            while (!stopped && !queue.isEmpty() && permits.tryAcquire()) {
+                if (!start(factory, this::drain)) {
+                    permits.release();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                for (Runnable runnable; !stopped && (runnable = queue.poll()) != null; ) {
+                    runnable.run();
+                }
+            } finally {
+                permits.release();
+            }
+            // a task queued while the permit was still held would otherwise wait for the next submit
+            dispatch();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Statuses by grouped key with an index of the keys of every environment,
+ * so lookups of one environment do not scan the statuses of all informer groups.
+ * The index is updated inside the compute of the status, a key is always indexed under the environment of its current value.
+ */
+final class StatusMap<V> {
+
+    private final Map<String, V> statuses = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> keysByEnv = new ConcurrentHashMap<>();
+    private final Function<V, String> envOf;
+
+    StatusMap(Function<V, String> envOf) {
+        this.envOf = envOf;
+    }
+
+    V get(String key) {
+        return statuses.get(key);
+    }
+
+    /**
+     * @return previous status of the key, null if there was none
+     */
+    V put(String key, V status) {
+        Object[] previous = new Object[1];
+        statuses.compute(key, (k, current) -> {
+            if (current != null) {
+                unindex(k, current);
+            }
+            previous[0] = current;
+            index(k, status);
+            return status;
+        });
+        @SuppressWarnings("unchecked")
+        V result = (V) previous[0];
+        return result;
+    }
+
+    /**
+     * @return removed status, null if there was none
+     */
+    V remove(String key) {
+        Object[] previous = new Object[1];
+        statuses.computeIfPresent(key, (k, current) -> {
+            unindex(k, current);
+            previous[0] = current;
+            return null;
+        });
+        @SuppressWarnings("unchecked")
+        V result = (V) previous[0];
+        return result;
+    }
+
+    /**
+     * Live statuses of the environment, callers copy them before handing them out
+     */
+    List<V> getByEnv(String env) {
+        Set<String> keys = keysByEnv.get(envKey(env));
+        if (keys == null) {
+            return List.of();
+        }
+        return keys.stream().map(statuses::get).filter(Objects::nonNull).toList();
+    }
+
+    void clearEnv(String env) {
+        Set<String> keys = keysByEnv.get(envKey(env));
+        if (keys != null) {
+            List.copyOf(keys).forEach(key -> statuses.computeIfPresent(key, (k, current) -> {
+                if (!Objects.equals(envOf.apply(current), env)) {
+                    return current;
+                }
+                unindex(k, current);
+                return null;
+            }));
+        }
+    }
+
+    void clear() {
+        List.copyOf(statuses.keySet()).forEach(this::remove);
+    }
+
+    Collection<V> values() {
+        return Collections.unmodifiableCollection(statuses.values());
+    }
+
+    int size() {
+        return statuses.size();
+    }
+
+    private void index(String key, V status) {
+        keysByEnv.compute(envKey(envOf.apply(status)), (env, keys) -> {
+            if (keys == null) {
+                keys = ConcurrentHashMap.newKeySet();
+            }
+            keys.add(key);
+            return keys;
+        });
+    }
+
+    private void unindex(String key, V status) {
+        keysByEnv.computeIfPresent(envKey(envOf.apply(status)), (env, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    // ConcurrentHashMap does not take null keys
+    private static String envKey(String env) {
+        return env != null ? env : "";
+    }
+}
@@ -22,7 +22,9 @@ import io.vertx.mutiny.core.eventbus.EventBus;
 import io.vertx.mutiny.core.eventbus.Message;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -40,6 +42,7 @@ import org.apache.camel.karavan.service.ProjectService;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static org.apache.camel.karavan.KaravanCache.Entity.POD_CONTAINER_STATUSES;
 import static org.apache.camel.karavan.KaravanConstants.*;
 import static org.apache.camel.karavan.KaravanEvents.POD_CONTAINER_UPDATED;
 
@@ -57,10 +60,10 @@ public class ContainerResource {
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<PodContainerStatus> getAllContainerStatuses() throws Exception {
-        return karavanCache.getPodContainerStatuses().stream()
+    public Response getAllContainerStatuses(@Context Request request) throws Exception {
+        return EntityTags.ok(request, karavanCache, () -> karavanCache.getPodContainerStatuses().stream()
                 .sorted(Comparator.comparing(PodContainerStatus::getProjectId, Comparator.nullsLast(String::compareTo)))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), POD_CONTAINER_STATUSES);
     }
 
     @POST
@@ -104,11 +107,13 @@ public class ContainerResource {
 
     private void setContainerStatusTransit(String projectId, String name, String type) {
         PodContainerStatus status = karavanCache.getPodContainerStatus(projectId, properties.environment(), name);
-        if (status == null) {
+        if (status != null) {
+            status = status.copy();
+        } else {
             status = PodContainerStatus.createByType(projectId, properties.environment(), ContainerType.valueOf(type));
         }
         status.setInTransit(true);
-        eventBus.publish(POD_CONTAINER_UPDATED, JsonObject.mapFrom(status));
+        eventBus.publish(POD_CONTAINER_UPDATED, status);
     }
 
     public void deployContainer(String projectId, String type, JsonObject command) throws InterruptedException {
@@ -150,19 +155,19 @@ public class ContainerResource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/{env}")
-    public List<PodContainerStatus> getContainerStatusesByEnv(@PathParam("env") String env) throws Exception {
-        return karavanCache.getPodContainerStatuses(env).stream()
+    public Response getContainerStatusesByEnv(@PathParam("env") String env, @Context Request request) throws Exception {
+        return EntityTags.ok(request, karavanCache, () -> karavanCache.getPodContainerStatuses(env).stream()
                 .sorted(Comparator.comparing(PodContainerStatus::getProjectId))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), POD_CONTAINER_STATUSES);
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/{projectId}/{env}")
-    public List<PodContainerStatus> getContainerStatusesByProjectAndEnv(@PathParam("projectId") String projectId, @PathParam("env") String env) throws Exception {
-        return karavanCache.getPodContainerStatuses(projectId, env).stream()
+    public Response getContainerStatusesByProjectAndEnv(@PathParam("projectId") String projectId, @PathParam("env") String env, @Context Request request) throws Exception {
+        return EntityTags.ok(request, karavanCache, () -> karavanCache.getPodContainerStatuses(projectId, env).stream()
                 .sorted(Comparator.comparing(PodContainerStatus::getContainerName))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), POD_CONTAINER_STATUSES);
     }
 
     @DELETE
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.api;
+
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import org.apache.camel.karavan.KaravanCache;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Conditional GET support for collections of {@link KaravanCache}.
+ * The strong ETag is built from the collection versions (and the instance start, versions restart from 0),
+ * a matching If-None-Match is answered with 304 without building the response body.
+ */
+public final class EntityTags {
+
+    private static final String INSTANCE = Long.toString(System.currentTimeMillis(), 36);
+    private static final CacheControl NO_CACHE = CacheControl.valueOf("no-cache");
+
+    private EntityTags() {
+    }
+
+    public static Response ok(Request request, KaravanCache karavanCache, Supplier<?> entity, KaravanCache.Entity... entities) {
+        // read the versions before the data, a change in between only causes one more full response
+        EntityTag tag = new EntityTag(INSTANCE + "-" + Arrays.stream(entities)
+                .map(e -> Long.toString(karavanCache.getVersion(e), 36))
+                .collect(Collectors.joining("-")));
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.cacheControl(NO_CACHE).build();
+        }
+        return Response.ok(entity.get()).tag(tag).cacheControl(NO_CACHE).build();
+    }
+}
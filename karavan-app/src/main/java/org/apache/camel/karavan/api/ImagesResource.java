@@ -25,8 +25,10 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
+import org.apache.camel.karavan.docker.DockerPullCoordinator;
 import org.apache.camel.karavan.docker.DockerService;
 import org.apache.camel.karavan.model.ContainerImage;
+import org.apache.camel.karavan.model.ImagePull;
 import org.apache.camel.karavan.model.RegistryConfig;
 import org.apache.camel.karavan.service.ConfigService;
 import org.apache.camel.karavan.service.ProjectService;
@@ -43,14 +45,17 @@ import static org.apache.camel.karavan.KaravanEvents.CMD_PULL_IMAGES;
 public class ImagesResource extends AbstractApiResource {
 
     private final DockerService dockerService;
+    private final DockerPullCoordinator pullCoordinator;
     private final RegistryService registryService;
     private final ProjectService projectService;
     private final EventBus eventBus;
 
     @Inject
-    public ImagesResource(SecurityIdentity securityIdentity, DockerService dockerService, RegistryService registryService, ProjectService projectService, EventBus eventBus) {
+    public ImagesResource(SecurityIdentity securityIdentity, DockerService dockerService, DockerPullCoordinator pullCoordinator,
+                          RegistryService registryService, ProjectService projectService, EventBus eventBus) {
         super(securityIdentity);
         this.dockerService = dockerService;
+        this.pullCoordinator = pullCoordinator;
         this.registryService = registryService;
         this.projectService = projectService;
         this.eventBus = eventBus;
@@ -64,9 +69,9 @@ public class ImagesResource extends AbstractApiResource {
             return List.of();
         } else {
             RegistryConfig registryConfig = registryService.getRegistryConfig();
-            String pattern = registryConfig.getGroup() + "/" + projectId + ":";
-            return dockerService.getImages()
-                    .stream().filter(s -> s.getTag().contains(pattern))
+            String prefix = registryConfig.getGroup() + "/" + projectId + ":";
+            return dockerService.getImages(prefix)
+                    .stream()
                     .sorted(Comparator.comparing(ContainerImage::getCreated).reversed().thenComparing(ContainerImage::getTag))
                     .toList();
         }
@@ -101,6 +106,16 @@ public class ImagesResource extends AbstractApiResource {
         }
     }
 
+    /**
+     * Pulls in progress, their progress is also sent as imagePull notifications
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/pulls")
+    public List<ImagePull> getPulls() {
+        return pullCoordinator.getPulls();
+    }
+
     @POST
     @Path("/pull/")
     @Produces(MediaType.APPLICATION_JSON)
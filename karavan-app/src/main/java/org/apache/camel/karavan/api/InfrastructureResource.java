@@ -19,7 +19,9 @@ package org.apache.camel.karavan.api;
 import io.vertx.core.eventbus.EventBus;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +38,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static org.apache.camel.karavan.KaravanCache.Entity.DEPLOYMENT_STATUSES;
+import static org.apache.camel.karavan.KaravanCache.Entity.SERVICE_STATUSES;
 import static org.apache.camel.karavan.KaravanConstants.KUBERNETES_YAML_FILENAME;
 import static org.apache.camel.karavan.KaravanConstants.LABEL_TYPE;
 import static org.apache.camel.karavan.KaravanEvents.CMD_RESTART_INFORMERS;
@@ -53,19 +57,19 @@ public class InfrastructureResource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/deployment")
-    public List<DeploymentStatus> getAllDeploymentStatuses() throws Exception {
-        return karavanCache.getDeploymentStatuses().stream()
+    public Response getAllDeploymentStatuses(@Context Request request) throws Exception {
+        return EntityTags.ok(request, karavanCache, () -> karavanCache.getDeploymentStatuses().stream()
                 .sorted(Comparator.comparing(DeploymentStatus::getProjectId))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), DEPLOYMENT_STATUSES);
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/deployment/{env}")
-    public List<DeploymentStatus> getDeploymentStatusesByEnv(@PathParam("env") String env) throws Exception {
-        return karavanCache.getDeploymentStatuses(env).stream()
+    public Response getDeploymentStatusesByEnv(@PathParam("env") String env, @Context Request request) throws Exception {
+        return EntityTags.ok(request, karavanCache, () -> karavanCache.getDeploymentStatuses(env).stream()
                 .sorted(Comparator.comparing(DeploymentStatus::getProjectId))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), DEPLOYMENT_STATUSES);
     }
 
     @POST
@@ -101,10 +105,10 @@ public class InfrastructureResource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/service")
-    public List<ServiceStatus> getAllServiceStatuses() throws Exception {
-        return karavanCache.getServiceStatuses().stream()
+    public Response getAllServiceStatuses(@Context Request request) throws Exception {
+        return EntityTags.ok(request, karavanCache, () -> karavanCache.getServiceStatuses().stream()
                 .sorted(Comparator.comparing(ServiceStatus::getProjectId))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), SERVICE_STATUSES);
     }
 
     @GET
@@ -155,4 +159,16 @@ public class InfrastructureResource {
             return Response.noContent().build();
         }
     }
+
+    @PUT
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/informers/{env}")
+    public Response restartInformers(@PathParam("env") String env) {
+        if (ConfigService.inKubernetes()) {
+            eventBus.publish(CMD_RESTART_INFORMERS, env);
+            return Response.ok().build();
+        } else {
+            return Response.noContent().build();
+        }
+    }
 }
\ No newline at end of file
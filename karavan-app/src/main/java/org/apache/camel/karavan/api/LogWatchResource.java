@@ -16,11 +16,6 @@
  */
 package org.apache.camel.karavan.api;
 
-import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.dsl.LogWatch;
-import io.smallrye.context.api.ManagedExecutorConfig;
-import io.smallrye.context.api.NamedInstance;
-import io.smallrye.mutiny.tuples.Tuple2;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
@@ -32,17 +27,8 @@ import jakarta.ws.rs.sse.Sse;
 import jakarta.ws.rs.sse.SseEventSink;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.camel.karavan.docker.DockerLogCallback;
-import org.apache.camel.karavan.docker.DockerService;
-import org.apache.camel.karavan.kubernetes.KubernetesService;
-import org.apache.camel.karavan.service.ConfigService;
+import org.apache.camel.karavan.service.LogStreamService;
 import org.apache.camel.karavan.service.NotificationService;
-import org.eclipse.microprofile.context.ManagedExecutor;
-
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
@@ -50,17 +36,10 @@ import java.util.concurrent.ConcurrentHashMap;
 public class LogWatchResource {
 
     private static final String SERVICE_NAME = "LOGWATCH";
-    private static final ConcurrentHashMap<String, Tuple2<LogWatch, KubernetesClient>> logWatches = new ConcurrentHashMap<>();
 
-    private final KubernetesService kubernetesService;
-    private final DockerService dockerService;
+    private final LogStreamService logStreamService;
     private final NotificationService notificationService;
 
-    @Inject
-    @ManagedExecutorConfig()
-    @NamedInstance("logExecutor")
-    ManagedExecutor managedExecutor;
-
     @GET
     @Produces(MediaType.SERVER_SENT_EVENTS)
     @Path("/{type}/{name}/{username}")
@@ -70,64 +49,7 @@ public class LogWatchResource {
                               @Context SseEventSink eventSink,
                               @Context Sse sse) {
         notificationService.sinkCleanup(SERVICE_NAME + ":" + type + ":" + name, username, eventSink);
-        managedExecutor.execute(() -> {
-            log.info("LogWatch for " + name + " starting... ");
-            if (ConfigService.inKubernetes()) {
-                getKubernetesLogs(name, username, eventSink, sse);
-            } else {
-                getDockerLogs(type, name, eventSink, sse);
-            }
-        });
-    }
-
-    private void getKubernetesLogs(String name, String username, SseEventSink eventSink, Sse sse) {
-        try (SseEventSink sink = eventSink) {
-            Tuple2<LogWatch, KubernetesClient> request = kubernetesService.getContainerLogWatch(name);
-            logWatchCleanup(SERVICE_NAME, username, request);
-            LogWatch logWatch = request.getItem1();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(logWatch.getOutput()));
-            try {
-                for (String line; (line = reader.readLine()) != null && !sink.isClosed(); ) {
-                    sink.send(sse.newEvent(line));
-                }
-            } catch (IOException e) {
-                log.error(e.getMessage());
-            }
-            logWatch.close();
-            request.getItem2().close();
-            sink.close();
-            log.info("LogWatch for " + name + " closed");
-        }
-    }
-
-    private void getDockerLogs(String type, String name, SseEventSink eventSink, Sse sse) {
-        log.info("LogCallback for " + name + " starting");
-        try (SseEventSink sink = eventSink) {
-            DockerLogCallback dockerLogCallback = new DockerLogCallback(line -> {
-                if (!sink.isClosed()) {
-                    sink.send(sse.newEvent(line));
-                }
-            });
-            dockerService.logContainer(name, dockerLogCallback);
-            dockerLogCallback.close();
-            sink.close();
-            log.info("LogCallback for " + name + " closed");
-        } catch (Exception e) {
-            log.error(e.getMessage());
-        }
-    }
-
-    protected void logWatchCleanup(String service, String username, Tuple2<LogWatch, KubernetesClient> logWatch) {
-        String key = service + ":" + username;
-        if (logWatches.containsKey(key)) {
-            var lw = logWatches.get(key);
-            try {
-                lw.getItem1().close();
-                lw.getItem2().close();
-            } catch (Exception e) {
-                log.error(e.getMessage());
-            }
-        }
-        logWatches.put(key, logWatch);
+        log.info("LogWatch for " + name + " subscribed by " + username);
+        logStreamService.subscribe(name, eventSink, sse);
     }
-}
\ No newline at end of file
+}
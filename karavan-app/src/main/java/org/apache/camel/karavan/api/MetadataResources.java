@@ -16,78 +16,85 @@
  */
 package org.apache.camel.karavan.api;
 
+import io.vertx.core.buffer.Buffer;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
-import org.apache.camel.karavan.KaravanCache;
-import org.apache.camel.karavan.model.Project;
-import org.apache.camel.karavan.model.ProjectFile;
-import org.apache.camel.karavan.service.CodeService;
+import org.apache.camel.karavan.service.MetadataService;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import static org.apache.camel.karavan.service.MetadataService.*;
 
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 @Path("/ui/metadata")
 public class MetadataResources {
 
-    private final CodeService codeService;
-    private final KaravanCache karavanCache;
+    private static final CacheControl NO_CACHE = CacheControl.valueOf("no-cache");
+
+    private final MetadataService metadataService;
 
     @GET
     @Produces(MediaType.TEXT_PLAIN)
     @Path("/kamelets/{projectId}")
-    public String getKameletsForProject(@PathParam("projectId") String projectId) {
-        StringBuilder kamelets = new StringBuilder(getKamelets());
-        List<ProjectFile> projectKamelets = karavanCache.getProjectFiles(projectId).stream()
-                .filter(f -> f.getName().endsWith(".kamelet.yaml")).toList();
-
-        if (!projectKamelets.isEmpty()) {
-            kamelets.append("\n---\n");
-            kamelets.append(projectKamelets.stream()
-                    .map(ProjectFile::getCode)
-                    .collect(Collectors.joining("\n---\n")));
-        }
-        return kamelets.toString();
+    public Response getKameletsForProject(@PathParam("projectId") String projectId, @Context Request request,
+                                          @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        return ok(metadataService.getKamelets(projectId), request, acceptEncoding);
     }
 
     @GET
     @Produces(MediaType.TEXT_PLAIN)
     @Path("/kamelets")
-    public String getKamelets() {
-        StringBuilder kamelets = new StringBuilder(codeService.getResourceFile("/metadata/kamelets.yaml"));
-        List<ProjectFile> custom = karavanCache.getProjectFiles(Project.Type.kamelets.name());
-        if (!custom.isEmpty()) {
-            kamelets.append("\n---\n");
-            kamelets.append(custom.stream()
-                    .map(ProjectFile::getCode)
-                    .collect(Collectors.joining("\n---\n")));
-        }
-        return kamelets.toString();
+    public Response getKamelets(@Context Request request, @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        return ok(metadataService.get(KAMELETS), request, acceptEncoding);
     }
 
     @GET
     @Path("/components")
     @Produces(MediaType.APPLICATION_JSON)
-    public String getComponents() {
-        return codeService.getResourceFile("/metadata/components.json");
+    public Response getComponents(@Context Request request, @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        return ok(metadataService.get(COMPONENTS), request, acceptEncoding);
     }
 
     @GET
     @Path("/beans")
     @Produces(MediaType.APPLICATION_JSON)
-    public String getSpiBeans() {
-        return codeService.getResourceFile("/metadata/spiBeans.json");
+    public Response getSpiBeans(@Context Request request, @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        return ok(metadataService.get(BEANS), request, acceptEncoding);
     }
 
     @GET
     @Path("/mainConfiguration")
     @Produces(MediaType.APPLICATION_JSON)
-    public String getMainConfiguration() {
-        return codeService.getResourceFile("/metadata/camel-main-configuration-metadata.json");
+    public Response getMainConfiguration(@Context Request request, @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        return ok(metadataService.get(MAIN_CONFIGURATION), request, acceptEncoding);
+    }
+
+    /**
+     * Serves the precomputed gzip variant when the client accepts it, so the document is neither encoded nor compressed per request.
+     */
+    private static Response ok(Metadata metadata, Request request, String acceptEncoding) {
+        if (metadata == null) {
+            return Response.noContent().build();
+        }
+        boolean gzip = metadata.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        EntityTag tag = new EntityTag(gzip ? metadata.etag() + "-gz" : metadata.etag());
+        Response.ResponseBuilder builder = request.evaluatePreconditions(tag);
+        if (builder == null) {
+            builder = Response.ok(Buffer.buffer((gzip ? metadata.gzip() : metadata.body()).duplicate()));
+            if (gzip) {
+                builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+        }
+        return builder.tag(tag).cacheControl(NO_CACHE).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
     }
 }
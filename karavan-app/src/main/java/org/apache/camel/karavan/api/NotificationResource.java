@@ -16,9 +16,6 @@
  */
 package org.apache.camel.karavan.api;
 
-import io.smallrye.mutiny.Multi;
-import io.vertx.core.json.JsonObject;
-import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
@@ -26,58 +23,33 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
-import jakarta.ws.rs.sse.OutboundSseEvent;
-import jakarta.ws.rs.sse.Sse;
 import jakarta.ws.rs.sse.SseEventSink;
 import lombok.RequiredArgsConstructor;
-import org.apache.camel.karavan.service.NotificationService;
-import org.jboss.resteasy.reactive.RestStreamElementType;
-
-import static org.apache.camel.karavan.listener.NotificationListener.*;
+import org.apache.camel.karavan.service.NotificationHub;
 
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 @Path("/ui/notification")
 public class NotificationResource {
 
-    private static final String SERVICE_NAME_SYSTEM = "NOTIFICATION_SYSTEM";
-    private static final String SERVICE_NAME_USER = "NOTIFICATION_USER";
-
-    private final EventBus eventBus;
-    private final NotificationService notificationService;
+    private final NotificationHub notificationHub;
 
     @GET
     @Path("/system/{username}")
     @Produces(MediaType.SERVER_SENT_EVENTS)
-    @RestStreamElementType(MediaType.TEXT_PLAIN)
-    public Multi<OutboundSseEvent> karavanStream(
+    public void karavanStream(
             @PathParam("username") String username,
-            @Context SseEventSink eventSink,
-            @Context Sse sse
+            @Context SseEventSink eventSink
     ) {
-        notificationService.sinkCleanup(SERVICE_NAME_SYSTEM, username, eventSink);
-        return eventBus.<JsonObject>consumer(NOTIFICATION_ADDRESS_SYSTEM).toMulti()
-                .map(m -> sse.newEventBuilder()
-                        .id(m.headers().get(NOTIFICATION_HEADER_EVENT_ID))
-                        .name(m.headers().get(NOTIFICATION_HEADER_EVENT_NAME) + ":" + m.headers().get(NOTIFICATION_HEADER_CLASS_NAME))
-                        .data(m.body())
-                        .build());
+        notificationHub.subscribeSystem(username, eventSink);
     }
 
     @GET
     @Path("/user/{username}")
     @Produces(MediaType.SERVER_SENT_EVENTS)
-    @RestStreamElementType(MediaType.TEXT_PLAIN)
-    public Multi<OutboundSseEvent> userStream(
+    public void userStream(
             @PathParam("username") String username,
-            @Context SseEventSink eventSink,
-            @Context Sse sse
+            @Context SseEventSink eventSink
     ) {
-        notificationService.sinkCleanup(SERVICE_NAME_USER, username, eventSink);
-        return eventBus.<JsonObject>consumer(username).toMulti()
-                .map(m -> sse.newEventBuilder()
-                        .id(m.headers().get(NOTIFICATION_HEADER_EVENT_ID))
-                        .name(m.headers().get(NOTIFICATION_HEADER_EVENT_NAME) + ":" + m.headers().get(NOTIFICATION_HEADER_CLASS_NAME))
-                        .data(m.body())
-                        .build());
+        notificationHub.subscribeUser(username, eventSink);
     }
 }
\ No newline at end of file
@@ -19,13 +19,17 @@ package org.apache.camel.karavan.api;
 import io.vertx.core.json.JsonObject;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.SseEventSink;
 import lombok.RequiredArgsConstructor;
 import org.apache.camel.karavan.KaravanCache;
 import org.apache.camel.karavan.model.Project;
 import org.apache.camel.karavan.model.ProjectFile;
 import org.apache.camel.karavan.service.CodeService;
+import org.apache.camel.karavan.service.ProjectChangeService;
 
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
@@ -33,19 +37,32 @@ import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static org.apache.camel.karavan.KaravanCache.Entity.FILES;
+
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 @Path("/ui/file")
 public class ProjectFileResource {
 
     private final KaravanCache karavanCache;
+    private final ProjectChangeService projectChangeService;
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/{projectId}")
-    public List<ProjectFile> get(@PathParam("projectId") String projectId) throws Exception {
-        return karavanCache.getProjectFiles(projectId).stream()
+    public Response get(@PathParam("projectId") String projectId, @Context Request request) throws Exception {
+        return EntityTags.ok(request, karavanCache, () -> karavanCache.getProjectFiles(projectId).stream()
                 .sorted(Comparator.comparing(ProjectFile::getName))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), FILES);
+    }
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Path("/changes/{projectId}")
+    public void changes(@PathParam("projectId") String projectId,
+                        @QueryParam("since") String since,
+                        @HeaderParam("Last-Event-ID") String lastEventId,
+                        @Context SseEventSink eventSink) {
+        projectChangeService.subscribe(projectId, since != null ? since : lastEventId, eventSink);
     }
 
     @GET
@@ -58,27 +75,8 @@ public class ProjectFileResource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/diff/{projectId}")
-    public Map<String, String> getChanged(@PathParam("projectId") String projectId) {
-        Map<String, String> result = new HashMap<>();
-        List<ProjectFile> files = karavanCache.getProjectFiles(projectId);
-        List<ProjectFile> filesCommited = karavanCache.getProjectFilesCommited(projectId);
-        files.forEach(pf -> {
-            var pfc = filesCommited.stream().filter(f -> Objects.equals(f.getName(), pf.getName())).findFirst();
-            if (pfc.isPresent()) {
-                if (!Objects.equals(pfc.get().getCode(), pf.getCode())) {
-                    result.put(pf.getName(), "CHANGED");
-                }
-            } else {
-                result.put(pf.getName(), "NEW");
-            }
-        });
-        filesCommited.forEach(pfc -> {
-            var pf = files.stream().filter(f -> Objects.equals(f.getName(), pfc.getName())).findFirst();
-            if (pf.isEmpty()) {
-                result.put(pfc.getName(), "DELETED");
-            }
-        });
-        return result;
+    public Response getChanged(@PathParam("projectId") String projectId, @Context Request request) {
+        return EntityTags.ok(request, karavanCache, () -> karavanCache.getFileChanges(projectId), FILES);
     }
 
     @GET
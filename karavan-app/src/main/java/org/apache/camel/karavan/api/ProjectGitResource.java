@@ -26,9 +26,11 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.service.GitHistoryService;
 import org.apache.camel.karavan.service.ProjectService;
 
 import java.util.HashMap;
+import java.util.List;
 
 import static org.apache.camel.karavan.KaravanEvents.CMD_PUSH_PROJECT;
 
@@ -37,12 +39,14 @@ import static org.apache.camel.karavan.KaravanEvents.CMD_PUSH_PROJECT;
 public class ProjectGitResource extends AbstractApiResource {
 
     private final ProjectService projectService;
+    private final GitHistoryService gitHistoryService;
     private final EventBus eventBus;
 
     @Inject
-    public ProjectGitResource(SecurityIdentity securityIdentity, ProjectService projectService, EventBus eventBus) {
+    public ProjectGitResource(SecurityIdentity securityIdentity, ProjectService projectService, GitHistoryService gitHistoryService, EventBus eventBus) {
         super(securityIdentity);
         this.projectService = projectService;
+        this.gitHistoryService = gitHistoryService;
         this.eventBus = eventBus;
     }
 
@@ -59,6 +63,21 @@ public class ProjectGitResource extends AbstractApiResource {
         return params;
     }
 
+    @POST
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Path("/batch")
+    public List<HashMap<String, String>> pushAll(List<HashMap<String, String>> params, @Context SecurityContext securityContext) throws Exception {
+        var identity = getIdentity(securityContext);
+        params.forEach(p -> {
+            var data = JsonObject.mapFrom(p);
+            data.put("authorName", identity.get("name"));
+            data.put("authorEmail", identity.get("email"));
+            eventBus.publish(CMD_PUSH_PROJECT, data);
+        });
+        return params;
+    }
+
     @PUT
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
@@ -73,4 +92,44 @@ public class ProjectGitResource extends AbstractApiResource {
         }
 
     }
-}
\ No newline at end of file
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/commits/{projectId}")
+    public Response getCommits(@PathParam("projectId") String projectId,
+                               @QueryParam("offset") @DefaultValue("0") int offset,
+                               @QueryParam("limit") @DefaultValue("20") int limit) {
+        try {
+            return Response.ok(gitHistoryService.getProjectCommits(projectId, Math.max(offset, 0), limit)).build();
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            return Response.serverError().entity(e.getMessage()).build();
+        }
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/commits/{projectId}/{commitId}")
+    public Response getCommitFiles(@PathParam("projectId") String projectId, @PathParam("commitId") String commitId) {
+        try {
+            return Response.ok(gitHistoryService.getCommitFiles(projectId, commitId)).build();
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            return Response.serverError().entity(e.getMessage()).build();
+        }
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/commits/{projectId}/{commitId}/diff")
+    public Response getCommitFileDiff(@PathParam("projectId") String projectId, @PathParam("commitId") String commitId,
+                                      @QueryParam("path") String path) {
+        try {
+            var diff = path != null ? gitHistoryService.getCommitFileDiff(projectId, commitId, path) : null;
+            return diff != null ? Response.ok(diff).build() : Response.status(Response.Status.NOT_FOUND).build();
+        } catch (Exception e) {
+            log.error(e.getMessage());
+            return Response.serverError().entity(e.getMessage()).build();
+        }
+    }
+}
@@ -21,16 +21,21 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.core.StreamingOutput;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.karavan.KaravanCache;
 import org.apache.camel.karavan.docker.DockerService;
 import org.apache.camel.karavan.kubernetes.KubernetesService;
+import org.apache.camel.karavan.model.BuildQueueItem;
 import org.apache.camel.karavan.model.CamelStatus;
 import org.apache.camel.karavan.model.CamelStatusValue;
 import org.apache.camel.karavan.model.ContainerType;
 import org.apache.camel.karavan.model.Project;
+import org.apache.camel.karavan.model.ProjectFile;
+import org.apache.camel.karavan.service.BuildQueueService;
 import org.apache.camel.karavan.service.ConfigService;
 import org.apache.camel.karavan.service.GitService;
 import org.apache.camel.karavan.service.ProjectService;
@@ -42,6 +47,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 
+import static org.apache.camel.karavan.KaravanCache.Entity.PROJECTS;
+
 @Slf4j
 @Path("/ui/project")
 public class ProjectResource extends AbstractApiResource {
@@ -54,12 +61,13 @@ public class ProjectResource extends AbstractApiResource {
     private final ContainerResource containerResource;
     private final InfrastructureResource infrastructureResource;
     private final ProjectService projectService;
+    private final BuildQueueService buildQueueService;
 
     @Inject
     public ProjectResource(SecurityIdentity securityIdentity, KaravanCache karavanCache, KubernetesService kubernetesService,
                            DockerService dockerService, GitService gitService, DevModeResource devModeResource,
                            ContainerResource containerResource, InfrastructureResource infrastructureResource,
-                           ProjectService projectService) {
+                           ProjectService projectService, BuildQueueService buildQueueService) {
         super(securityIdentity);
         this.karavanCache = karavanCache;
         this.kubernetesService = kubernetesService;
@@ -69,12 +77,13 @@ public class ProjectResource extends AbstractApiResource {
         this.containerResource = containerResource;
         this.infrastructureResource = infrastructureResource;
         this.projectService = projectService;
+        this.buildQueueService = buildQueueService;
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<Project> getAll(@QueryParam("type") String type) {
-        return projectService.getAllProjects(type);
+    public Response getAll(@QueryParam("type") String type, @Context Request request) {
+        return EntityTags.ok(request, karavanCache, () -> projectService.getAllProjects(type), PROJECTS);
     }
 
     @GET
@@ -114,7 +123,7 @@ public class ProjectResource extends AbstractApiResource {
         }
         var identity = getIdentity(securityContext);
         // delete from cache
-        karavanCache.getProjectFiles(projectId).forEach(file -> karavanCache.deleteProjectFile(projectId, file.getName(), false));
+        karavanCache.deleteProjectFiles(projectId, karavanCache.getProjectFiles(projectId).stream().map(ProjectFile::getName).toList(), false);
         karavanCache.getProjectFilesCommited(projectId).forEach(file -> karavanCache.deleteProjectFileCommited(projectId, file.getName()));
         karavanCache.deleteProject(projectId, false);
         // delete from git
@@ -126,9 +135,11 @@ public class ProjectResource extends AbstractApiResource {
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     @Path("/build/{tag}")
-    public Response build(Project project, @PathParam("tag") String tag) throws Exception {
+    public Response build(Project project, @PathParam("tag") String tag,
+                          @QueryParam("priority") @DefaultValue("0") int priority,
+                          @QueryParam("force") boolean force) throws Exception {
         try {
-            projectService.buildProject(project, tag);
+            buildQueueService.submit(project, tag, priority, force);
             return Response.ok().entity(project).build();
         } catch (Exception e) {
             String errorMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
@@ -137,6 +148,28 @@ public class ProjectResource extends AbstractApiResource {
         }
     }
 
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/build/queue")
+    public List<BuildQueueItem> getBuildQueue() {
+        return buildQueueService.getItems();
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/build/queue/{projectId}")
+    public Response getBuildQueueItem(@PathParam("projectId") String projectId) {
+        BuildQueueItem item = buildQueueService.getItem(projectId);
+        return item != null ? Response.ok(item).build() : Response.noContent().build();
+    }
+
+    @DELETE
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/build/queue/{projectId}")
+    public Response cancelQueuedBuild(@PathParam("projectId") String projectId) {
+        return buildQueueService.cancel(projectId) ? Response.ok().build() : Response.status(Response.Status.NOT_FOUND).build();
+    }
+
     @DELETE
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/build/{env}/{buildName}")
@@ -213,11 +246,20 @@ public class ProjectResource extends AbstractApiResource {
     @Produces(MediaType.APPLICATION_OCTET_STREAM)
     @Path("/download/{projectId}")
     public Response download(@PathParam("projectId") String projectId) {
-        try {
-            return Response.ok(projectService.downloadProjectArchiveFile(projectId)).header("Content-Disposition", "attachment;filename=" + projectId + ".zip").build();
-        } catch (Exception e) {
-            return Response.status(Response.Status.CONFLICT).entity(e.getMessage()).build();
+        if (karavanCache.getProject(projectId) == null) {
+            return Response.noContent().build();
         }
+        StreamingOutput archive = output -> projectService.writeProjectsArchive(List.of(projectId), output);
+        return Response.ok(archive).header("Content-Disposition", "attachment;filename=" + projectId + ".zip").build();
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    @Path("/download")
+    public Response downloadAll() {
+        List<String> projectIds = karavanCache.getProjects().stream().map(Project::getProjectId).sorted().toList();
+        StreamingOutput archive = output -> projectService.writeProjectsArchive(projectIds, output);
+        return Response.ok(archive).header("Content-Disposition", "attachment;filename=karavan-projects.zip").build();
     }
 
     public static class ProjectArchiveUploadMultiPart {
@@ -18,16 +18,20 @@ package org.apache.camel.karavan.api;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.karavan.KaravanCache;
-import org.apache.camel.karavan.model.CamelStatus;
+import org.apache.camel.karavan.kubernetes.KubernetesStatusService;
 import org.apache.camel.karavan.model.CamelStatusValue;
 import org.apache.camel.karavan.model.DeploymentStatus;
 
-import java.util.List;
+import java.util.Map;
+
+import static org.apache.camel.karavan.KaravanCache.Entity.CAMEL_STATUSES;
 
 @Slf4j
 @Path("/ui/status")
@@ -35,6 +39,7 @@ import java.util.List;
 public class StatusResource {
 
     private final KaravanCache karavanCache;
+    private final KubernetesStatusService kubernetesStatusService;
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
@@ -50,15 +55,22 @@ public class StatusResource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/camel")
-    public List<CamelStatus> getCamelAllStatuses() {
-        return karavanCache.getCamelAllStatuses();
+    public Response getCamelAllStatuses(@Context Request request) {
+        return EntityTags.ok(request, karavanCache, karavanCache::getCamelAllStatuses, CAMEL_STATUSES);
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/camel/{context}")
-    public List<CamelStatus> getCamelContextStatusesByName(@PathParam("context") String context) {
-        return karavanCache.getCamelStatusesByName(CamelStatusValue.Name.valueOf(context));
+    public Response getCamelContextStatusesByName(@PathParam("context") String context, @Context Request request) {
+        return EntityTags.ok(request, karavanCache, () -> karavanCache.getCamelStatusesByName(CamelStatusValue.Name.valueOf(context)), CAMEL_STATUSES);
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/informers")
+    public Map<String, Map<String, Map<String, Long>>> getInformerEventCounters() {
+        return kubernetesStatusService.getEventCounters();
     }
 
     @DELETE
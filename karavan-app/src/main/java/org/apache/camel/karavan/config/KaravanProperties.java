@@ -20,7 +20,9 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.apache.camel.karavan.KaravanConstants.DEV;
@@ -139,6 +141,11 @@ public interface KaravanProperties {
      */
     Builder builder();
 
+    /**
+     * Maven repository configuration of builders and dev-mode containers
+     */
+    Maven maven();
+
     /**
      * Docker configuration
      */
@@ -149,6 +156,31 @@ public interface KaravanProperties {
      */
     Cache cache();
 
+    /**
+     * Kubernetes client configuration
+     */
+    Kubernetes kubernetes();
+
+    /**
+     * Container log streaming configuration
+     */
+    Logwatch logwatch();
+
+    /**
+     * Event bus consumer worker configuration
+     */
+    Workers workers();
+
+    /**
+     * SSE notification configuration
+     */
+    Notification notification();
+
+    /**
+     * Project file change stream configuration
+     */
+    Changes changes();
+
     /**
      * Camel status check interval configuration
      */
@@ -205,6 +237,60 @@ public interface KaravanProperties {
          */
         @WithDefault("false")
         boolean ephemeral();
+
+        /**
+         * Commit history configuration
+         */
+        History history();
+
+        interface History {
+            /**
+             * Number of commits kept in the commit metadata cache
+             */
+            @WithName("cache-size")
+            @WithDefault("10000")
+            int cacheSize();
+
+            /**
+             * Maximum number of commits in one history page
+             */
+            @WithName("max-page-size")
+            @WithDefault("100")
+            int maxPageSize();
+        }
+
+        /**
+         * Commit and push configuration
+         */
+        Commit commit();
+
+        interface Commit {
+            /**
+             * Time to collect commit requests into one clone and push
+             */
+            @WithName("batch-window")
+            @WithDefault("500ms")
+            Duration batchWindow();
+        }
+
+        /**
+         * Background sync of commits pushed outside of this instance
+         */
+        Sync sync();
+
+        interface Sync {
+            /**
+             * Fetches the repository periodically and updates changed projects
+             */
+            @WithDefault("true")
+            boolean enabled();
+
+            /**
+             * Interval between fetches
+             */
+            @WithDefault("1m")
+            String interval();
+        }
     }
 
     /**
@@ -276,6 +362,76 @@ public interface KaravanProperties {
         @WithName("service.account")
         @WithDefault("karavan")
         String serviceAccount();
+
+        /**
+         * Build queue configuration
+         */
+        Queue queue();
+
+        interface Queue {
+            /**
+             * Maximum number of builds running at the same time, a project runs one build at a time
+             */
+            @WithName("max-concurrent")
+            @WithDefault("4")
+            int maxConcurrent();
+
+            /**
+             * Time after which a running build no longer holds its slot
+             */
+            @WithDefault("30m")
+            Duration timeout();
+        }
+
+        /**
+         * Build cache configuration
+         */
+        Cache cache();
+
+        interface Cache {
+            /**
+             * Skips the build of a project whose sources and build configuration match an image built before
+             */
+            @WithDefault("true")
+            boolean enabled();
+        }
+    }
+
+    /**
+     * Maven repository configuration of builders and dev-mode containers
+     */
+    interface Maven {
+        /**
+         * Shared Maven repository configuration
+         */
+        Shared shared();
+
+        interface Shared {
+            /**
+             * Mounts a shared Maven repository, seeded from the devmode image, behind the project repository
+             */
+            @WithDefault("false")
+            boolean enabled();
+
+            /**
+             * Docker volume or Kubernetes PVC name of the shared repository
+             */
+            @WithDefault("karavan-m2-shared")
+            String volume();
+
+            /**
+             * Storage size of the Kubernetes PVC
+             */
+            @WithDefault("10Gi")
+            String storage();
+
+            /**
+             * Access mode of the Kubernetes PVC, pods on several nodes need ReadWriteMany
+             */
+            @WithName("access-mode")
+            @WithDefault("ReadWriteMany")
+            String accessMode();
+        }
     }
 
     /**
@@ -287,6 +443,27 @@ public interface KaravanProperties {
          */
         @WithDefault("karavan")
         String network();
+
+        /**
+         * Image pull configuration
+         */
+        Pull pull();
+
+        interface Pull {
+            /**
+             * Maximum number of images pulled at the same time, requests for an image being pulled wait for that pull
+             */
+            @WithName("max-concurrent")
+            @WithDefault("2")
+            int maxConcurrent();
+
+            /**
+             * Pulls the devmode and dev service images in the background once projects are loaded
+             */
+            @WithName("pre-pull")
+            @WithDefault("true")
+            boolean prePull();
+        }
     }
 
     /**
@@ -299,6 +476,195 @@ public interface KaravanProperties {
         @WithName("state.path")
         @WithDefault("./cache-data")
         String statePath();
+
+        /**
+         * Cold file bodies configuration
+         */
+        Cold cold();
+
+        interface Cold {
+            /**
+             * Moves bodies of files not read for the idle time to compressed off-heap buffers
+             */
+            @WithDefault("false")
+            boolean enabled();
+
+            /**
+             * Time without reads after which a file body is moved off-heap
+             */
+            @WithName("idle-time")
+            @WithDefault("7d")
+            Duration idleTime();
+
+            /**
+             * Interval between checks for idle file bodies
+             */
+            @WithDefault("10m")
+            String interval();
+        }
+    }
+
+    /**
+     * Kubernetes client configuration
+     */
+    interface Kubernetes {
+        /**
+         * Maximum number of concurrent requests of the shared Kubernetes client
+         */
+        @WithName("max-concurrent-requests")
+        @WithDefault("64")
+        int maxConcurrentRequests();
+
+        /**
+         * Maximum number of concurrent requests per host of the shared Kubernetes client
+         */
+        @WithName("max-concurrent-requests-per-host")
+        @WithDefault("32")
+        int maxConcurrentRequestsPerHost();
+
+        /**
+         * Page size of the initial list of informers, it limits the size of one list response only,
+         * the informer store still keeps every object matching the namespace and label selector
+         */
+        @WithName("list-limit")
+        @WithDefault("500")
+        long listLimit();
+
+        /**
+         * Informer groups keyed by environment name.
+         * When empty, Karavan watches its own namespace as the current environment
+         */
+        Map<String, Informer> informers();
+
+        interface Informer {
+            /**
+             * Namespace to watch, defaults to the namespace of the client
+             */
+            Optional<String> namespace();
+
+            /**
+             * Kubeconfig context, defaults to the in-cluster or current context
+             */
+            Optional<String> context();
+
+            /**
+             * Label selector that limits the resources held by the informers
+             */
+            @WithName("label-selector")
+            Optional<String> labelSelector();
+        }
+    }
+
+    /**
+     * Container log streaming configuration
+     */
+    interface Logwatch {
+        /**
+         * Number of last log lines kept per container for new viewers
+         */
+        @WithName("buffer-size")
+        @WithDefault("1000")
+        int bufferSize();
+
+        /**
+         * Maximum number of log lines sent in one SSE frame
+         */
+        @WithName("batch-size")
+        @WithDefault("500")
+        int batchSize();
+
+        /**
+         * Maximum number of log lines waiting for a slow viewer, older lines are dropped
+         */
+        @WithName("max-pending")
+        @WithDefault("5000")
+        int maxPending();
+
+        /**
+         * Interval between SSE frames
+         */
+        @WithName("flush-interval")
+        @WithDefault("200ms")
+        String flushInterval();
+    }
+
+    /**
+     * SSE notification configuration
+     */
+    interface Notification {
+        /**
+         * Maximum number of notifications waiting for a slow subscriber, older notifications are dropped
+         */
+        @WithName("max-pending")
+        @WithDefault("100")
+        int maxPending();
+    }
+
+    /**
+     * Project file change stream configuration
+     */
+    interface Changes {
+        /**
+         * Number of last changes kept per project for clients resuming from a version
+         */
+        @WithName("history-size")
+        @WithDefault("100")
+        int historySize();
+
+        /**
+         * Maximum number of changes waiting for a slow subscriber before it is disconnected
+         */
+        @WithName("max-pending")
+        @WithDefault("500")
+        int maxPending();
+
+        /**
+         * Time the changes of a project are kept after its last subscriber left, so a reconnecting client resumes without a reset
+         */
+        @WithName("idle-time")
+        @WithDefault("60s")
+        Duration idleTime();
+    }
+
+    /**
+     * Maximum number of concurrent virtual threads per worker category
+     */
+    interface Workers {
+        /**
+         * Status cache updates, 1 keeps them in order
+         */
+        @WithDefault("1")
+        int status();
+
+        /**
+         * User and system notifications
+         */
+        @WithDefault("1")
+        int notification();
+
+        /**
+         * Camel status and container statistics collection
+         */
+        @WithDefault("8")
+        int statistics();
+
+        /**
+         * Container commands: delete, code reload, informer restart
+         */
+        @WithDefault("4")
+        int command();
+
+        /**
+         * Git commits, pushes and configuration sharing
+         */
+        @WithDefault("1")
+        int git();
+
+        /**
+         * Docker image index sync and Maven repository seeding, image pulls are limited by docker.pull.max-concurrent
+         */
+        @WithDefault("2")
+        int docker();
     }
 
     /**
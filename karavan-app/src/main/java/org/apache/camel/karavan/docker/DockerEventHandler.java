@@ -27,6 +27,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.model.ContainerType;
 import org.apache.camel.karavan.service.RegistryService;
 
@@ -48,8 +49,18 @@ public class DockerEventHandler implements ResultCallback<Event> {
 
     private final EventBus eventBus;
 
+    private final KaravanWorkers workers;
+
+    // image events keep the image index of DockerService current only while the listener runs
+    private volatile boolean listening = false;
+
+    public boolean isListening() {
+        return listening;
+    }
+
     @Override
     public void onStart(Closeable closeable) {
+        listening = true;
         log.info("DockerEventListener started");
     }
 
@@ -61,13 +72,15 @@ public class DockerEventHandler implements ResultCallback<Event> {
                 if (container != null) {
                     onContainerEvent(event, container);
                 }
+            } else if (Objects.equals(event.getType(), EventType.IMAGE)) {
+                dockerService.onImageEvent(event);
             }
         } catch (Exception exception) {
             log.error(exception.getMessage());
         }
     }
 
-    public void onContainerEvent(Event event, Container container) throws InterruptedException {
+    public void onContainerEvent(Event event, Container container) {
         if ("exited".equalsIgnoreCase(container.getState())
                 && Objects.equals(container.getLabels().get(LABEL_TYPE), ContainerType.build.name())) {
             String tag = container.getLabels().get(LABEL_TAG);
@@ -76,24 +89,28 @@ public class DockerEventHandler implements ResultCallback<Event> {
         }
     }
 
-    private void syncImage(String projectId, String tag) throws InterruptedException {
+    // pulls wait for a free pull slot, the event stream is not held up by them
+    private void syncImage(String projectId, String tag) {
         String image = registryService.getRegistryWithGroupForSync() + "/" + projectId + ":" + tag;
         eventBus.publish(CMD_PULL_IMAGES, JsonObject.of("projectId", projectId));
-        dockerService.pullImage(image, true);
+        workers.stream("pull " + image, () -> dockerService.pullImage(image, true));
     }
 
     @Override
     public void onError(Throwable throwable) {
+        listening = false;
         log.error(throwable.getMessage());
     }
 
     @Override
     public void onComplete() {
+        listening = false;
         log.error("DockerEventListener complete");
     }
 
     @Override
     public void close() throws IOException {
+        listening = false;
         log.info("DockerEventListener close");
     }
 }
\ No newline at end of file
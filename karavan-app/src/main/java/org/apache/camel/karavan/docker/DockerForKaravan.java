@@ -26,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.karavan.config.KaravanProperties;
 import org.apache.camel.karavan.model.*;
+import org.apache.camel.karavan.service.MavenRepositoryService;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -69,7 +70,15 @@ public class DockerForKaravan {
         }
 
         if (properties.devmode().createM2()) {
-            compose.getVolumes().add(new DockerComposeVolume(MountType.VOLUME.name(), projectId + "-m2-repository", "/karavan/.m2/repository"));
+            compose.getVolumes().add(new DockerComposeVolume(MountType.VOLUME.name(), projectId + "-m2-repository", M2_REPOSITORY_PATH));
+        }
+        if (properties.maven().shared().enabled()) {
+            compose.getVolumes().add(getSharedM2Volume());
+            String prefix = ENV_VAR_MAVEN_OPTS + "=";
+            String mavenOpts = env.stream().filter(e -> e.startsWith(prefix)).reduce((first, second) -> second)
+                    .map(e -> e.substring(prefix.length())).orElse(null);
+            env.removeIf(e -> e.startsWith(prefix));
+            env.add(prefix + MavenRepositoryService.withSharedRepository(mavenOpts));
         }
 
         var imageName = projectDevmodeImage != null ? projectDevmodeImage : properties.devmode().image();
@@ -94,7 +103,11 @@ public class DockerForKaravan {
         String containerName = project.getProjectId() + BUILDER_SUFFIX;
         dockerService.deleteContainer(containerName);
         if (properties.devmode().createM2()) {
-            compose.getVolumes().add(new DockerComposeVolume(MountType.VOLUME.name(), project.getProjectId() + "-build-m2-repository", "/karavan/.m2/repository"));
+            compose.getVolumes().add(new DockerComposeVolume(MountType.VOLUME.name(), project.getProjectId() + "-build-m2-repository", M2_REPOSITORY_PATH));
+        }
+        if (properties.maven().shared().enabled()) {
+            compose.getVolumes().add(getSharedM2Volume());
+            compose.addEnvironment(ENV_VAR_MAVEN_OPTS, MavenRepositoryService.withSharedRepository(compose.getEnvironment().get(ENV_VAR_MAVEN_OPTS)));
         }
         compose.addEnvironment(RUN_IN_BUILD_MODE, "true");
         Container c = createBuildContainer(containerName, project, compose.getEnvironmentList(), compose.getVolumes(), tag);
@@ -119,4 +132,25 @@ public class DockerForKaravan {
                 null, null, null, null,
                 "/karavan/builder/build.sh");
     }
-}
\ No newline at end of file
+
+    /**
+     * Copies the Maven repository of the devmode image into the shared volume, once per devmode image
+     */
+    public void seedSharedM2Repository() throws InterruptedException {
+        String image = properties.devmode().image();
+        log.info("Seeding shared Maven repository " + properties.maven().shared().volume() + " from " + image);
+        dockerService.deleteContainer(M2_SEED_CONTAINER);
+        dockerService.pullImageFromDockerHub(image, false);
+        Container c = dockerService.createContainer(M2_SEED_CONTAINER, image,
+                List.of("DEVMODE_IMAGE=" + image), Map.of(), new HealthCheck(),
+                Map.of(LABEL_TYPE, ContainerType.internal.name()),
+                List.of(getSharedM2Volume()), null, RestartPolicy.noRestart(), DockerService.PULL_IMAGE.ifNotExists,
+                null, null, null, null,
+                M2_SEED_SCRIPT);
+        dockerService.runContainer(c);
+    }
+
+    private DockerComposeVolume getSharedM2Volume() {
+        return new DockerComposeVolume(MountType.VOLUME.name(), properties.maven().shared().volume(), M2_SHARED_PATH);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.docker;
+
+import org.apache.camel.karavan.model.ContainerImage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Images of the Docker host by id and by tag, loaded once and then kept current from image events.
+ * Tags are also indexed without their registry, so the images of a repository are found by prefix.
+ */
+class DockerImageIndex {
+
+    private final Map<String, Entry> images = new HashMap<>();
+    private final Map<String, String> idsByTag = new HashMap<>();
+    // tag without registry and the tag itself, the same name can come from several registries
+    private final TreeMap<String, String> tagsByName = new TreeMap<>();
+    private boolean loaded = false;
+
+    record Entry(String id, List<String> tags, Long created, Long size) {
+    }
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    synchronized void load(List<Entry> entries) {
+        images.clear();
+        idsByTag.clear();
+        tagsByName.clear();
+        entries.forEach(this::put);
+        loaded = true;
+    }
+
+    synchronized void invalidate() {
+        loaded = false;
+    }
+
+    /**
+     * Replaces the image with its current tags, an image without tags is removed
+     */
+    synchronized void update(Entry entry) {
+        remove(entry.id());
+        if (!entry.tags().isEmpty()) {
+            put(entry);
+        }
+    }
+
+    /**
+     * Removes the image with the id, or the tag if no image has that id
+     */
+    synchronized void remove(String idOrTag) {
+        Entry entry = images.remove(idOrTag);
+        if (entry != null) {
+            entry.tags().forEach(this::removeTag);
+        } else if (idsByTag.containsKey(idOrTag)) {
+            String id = idsByTag.get(idOrTag);
+            removeTag(idOrTag);
+            dropTag(id, idOrTag);
+        }
+    }
+
+    synchronized boolean hasTag(String tag) {
+        return idsByTag.containsKey(normalize(tag));
+    }
+
+    synchronized String getId(String tag) {
+        return idsByTag.get(normalize(tag));
+    }
+
+    /**
+     * @return images with their first tag
+     */
+    synchronized List<ContainerImage> getImages() {
+        return images.values().stream()
+                .map(entry -> new ContainerImage(entry.id(), entry.tags().getFirst(), entry.created(), entry.size()))
+                .toList();
+    }
+
+    /**
+     * @param prefix start of the tag without registry, e.g. group/project:
+     * @return one image per matching tag
+     */
+    synchronized List<ContainerImage> getImagesByPrefix(String prefix) {
+        List<ContainerImage> result = new ArrayList<>();
+        tagsByName.subMap(prefix, prefix + Character.MAX_VALUE).values().forEach(tag -> {
+            Entry entry = images.get(idsByTag.get(tag));
+            if (entry != null) {
+                result.add(new ContainerImage(entry.id(), tag, entry.created(), entry.size()));
+            }
+        });
+        return result;
+    }
+
+    private void put(Entry entry) {
+        images.put(entry.id(), entry);
+        entry.tags().forEach(tag -> {
+            String previous = idsByTag.put(tag, entry.id());
+            if (previous != null && !previous.equals(entry.id())) {
+                // the tag moved to this image
+                dropTag(previous, tag);
+            }
+            tagsByName.put(nameKey(tag), tag);
+        });
+    }
+
+    private void dropTag(String id, String tag) {
+        Entry image = images.get(id);
+        if (image != null) {
+            List<String> tags = new ArrayList<>(image.tags());
+            tags.remove(tag);
+            if (tags.isEmpty()) {
+                images.remove(id);
+            } else {
+                images.put(id, new Entry(id, List.copyOf(tags), image.created(), image.size()));
+            }
+        }
+    }
+
+    private void removeTag(String tag) {
+        tagsByName.remove(nameKey(tag));
+        idsByTag.remove(tag);
+    }
+
+    private static String nameKey(String tag) {
+        return withoutRegistry(tag) + '\u0000' + tag;
+    }
+
+    // the first part of a name is a registry if it has a dot or a port, or is localhost
+    static String withoutRegistry(String tag) {
+        int slash = tag.indexOf('/');
+        if (slash > 0) {
+            String first = tag.substring(0, slash);
+            if (first.contains(".") || first.contains(":") || first.equals("localhost")) {
+                return tag.substring(slash + 1);
+            }
+        }
+        return tag;
+    }
+
+    // Docker lists images pulled without a tag as latest
+    static String normalize(String image) {
+        int slash = image.lastIndexOf('/');
+        return image.contains("@") || image.indexOf(':', slash + 1) >= 0 ? image : image + ":latest";
+    }
+}
@@ -25,13 +25,21 @@ import java.util.function.Consumer;
 public class DockerPullCallback extends ResultCallback.Adapter<PullResponseItem> {
 
     private final Consumer<String> action;
+    private final Consumer<PullResponseItem> listener;
 
     public DockerPullCallback(Consumer<String> action) {
+        this(action, item -> {
+        });
+    }
+
+    public DockerPullCallback(Consumer<String> action, Consumer<PullResponseItem> listener) {
         this.action = action;
+        this.listener = listener;
     }
 
     @Override
     public void onNext(PullResponseItem item) {
+        listener.accept(item);
         StringBuilder line = new StringBuilder();
         if (item.getId() != null) {
             line.append("Layer ").append(item.getId()).append(", ");
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.docker;
+
+import com.github.dockerjava.api.model.PullResponseItem;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.eventbus.EventBus;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.apache.camel.karavan.model.ImagePull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+import static org.apache.camel.karavan.KaravanEvents.IMAGE_PULL_UPDATED;
+
+/**
+ * Runs image pulls of the Docker host, one pull per image reference at a time and at most max-concurrent pulls together.
+ * A request for an image that is being pulled waits for that pull instead of starting another one.
+ * Progress of every pull is published to the event bus, at most once a second per pull.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class DockerPullCoordinator {
+
+    public static final String QUEUED = "queued";
+    public static final String PULLING = "pulling";
+    public static final String PULLED = "pulled";
+    public static final String FAILED = "failed";
+
+    private static final long PROGRESS_INTERVAL = 1000;
+
+    private final Map<String, Pull> pulls = new ConcurrentHashMap<>();
+    private volatile Semaphore permits;
+
+    private final KaravanProperties properties;
+    private final EventBus eventBus;
+
+    public interface PullTask {
+        void pull(DockerPullCallback callback) throws InterruptedException;
+    }
+
+    private static final class Pull {
+        private final String image;
+        private final long submitted = System.currentTimeMillis();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        // layer id -> downloaded and total bytes
+        private final Map<String, long[]> layers = new ConcurrentHashMap<>();
+        private volatile String state = QUEUED;
+        private volatile Long started;
+        private volatile Long finished;
+        private volatile String error;
+        private volatile long published;
+
+        Pull(String image) {
+            this.image = image;
+        }
+    }
+
+    /**
+     * Pulls the image, or waits for the pull of the same image in progress
+     */
+    public void pull(String image, PullTask task) throws InterruptedException {
+        Pull pull = new Pull(image);
+        Pull current = pulls.putIfAbsent(image, pull);
+        if (current != null) {
+            log.info("Waiting for the pull of " + image + " in progress");
+            await(current);
+            return;
+        }
+        publish(pull);
+        try {
+            getPermits().acquire();
+            try {
+                pull.state = PULLING;
+                pull.started = System.currentTimeMillis();
+                publish(pull);
+                task.pull(new DockerPullCallback(log::info, item -> onProgress(pull, item)));
+                pull.state = PULLED;
+            } finally {
+                getPermits().release();
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            pull.state = FAILED;
+            pull.error = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            pull.done.completeExceptionally(e);
+            throw e;
+        } finally {
+            pull.finished = System.currentTimeMillis();
+            pulls.remove(image, pull);
+            publish(pull);
+            pull.done.complete(null);
+        }
+        log.info("Pulled " + image + " in " + (pull.finished - pull.started) + " ms");
+    }
+
+    private static void await(Pull pull) throws InterruptedException {
+        try {
+            pull.done.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    public List<ImagePull> getPulls() {
+        return pulls.values().stream().map(DockerPullCoordinator::toItem).toList();
+    }
+
+    private void onProgress(Pull pull, PullResponseItem item) {
+        var detail = item.getProgressDetail();
+        if (item.getId() != null && detail != null && detail.getTotal() != null && detail.getCurrent() != null
+                && "Downloading".equals(item.getStatus())) {
+            pull.layers.put(item.getId(), new long[]{detail.getCurrent(), detail.getTotal()});
+        } else if (item.getId() != null && "Download complete".equals(item.getStatus())) {
+            long[] layer = pull.layers.get(item.getId());
+            if (layer != null) {
+                pull.layers.put(item.getId(), new long[]{layer[1], layer[1]});
+            }
+        }
+        long now = System.currentTimeMillis();
+        if (now - pull.published >= PROGRESS_INTERVAL) {
+            publish(pull);
+        }
+    }
+
+    private void publish(Pull pull) {
+        pull.published = System.currentTimeMillis();
+        eventBus.publish(IMAGE_PULL_UPDATED, JsonObject.mapFrom(toItem(pull)));
+    }
+
+    private static ImagePull toItem(Pull pull) {
+        long current = pull.layers.values().stream().mapToLong(layer -> layer[0]).sum();
+        long total = pull.layers.values().stream().mapToLong(layer -> layer[1]).sum();
+        return new ImagePull(pull.image, pull.state, current, total, pull.layers.size(),
+                pull.submitted, pull.started, pull.finished, pull.error);
+    }
+
+    private Semaphore getPermits() {
+        if (permits == null) {
+            synchronized (this) {
+                if (permits == null) {
+                    permits = new Semaphore(Math.max(1, properties.docker().pull().maxConcurrent()), true);
+                }
+            }
+        }
+        return permits;
+    }
+}
@@ -17,6 +17,8 @@
 package org.apache.camel.karavan.docker;
 
 import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.exception.NotFoundException;
 import com.github.dockerjava.api.command.*;
 import com.github.dockerjava.api.model.*;
 import com.github.dockerjava.api.model.ContainerPort;
@@ -50,8 +52,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static org.apache.camel.karavan.KaravanConstants.LABEL_PROJECT_ID;
 import static org.apache.camel.karavan.KaravanConstants.LABEL_TYPE;
@@ -63,10 +65,12 @@ public class DockerService {
 
     private final KaravanProperties properties;
     private final DockerEventHandler dockerEventHandler;
+    private final DockerPullCoordinator pullCoordinator;
     private final CodeService codeService;
     private final Vertx vertx;
     private volatile DockerClient dockerClient;
     private volatile DockerClient dockerClientConnectedToRegistry;
+    private final DockerImageIndex imageIndex = new DockerImageIndex();
 
     void onStart(@Observes StartupEvent ev) {
         if (!ConfigService.inKubernetes()) {
@@ -356,6 +360,20 @@ public class DockerService {
         }
     }
 
+    /**
+     * @return exit code of the stopped container, null if the container does not exist or still runs
+     */
+    public Long getExitCode(String name) {
+        List<Container> containers = findContainer(name);
+        if (containers.size() == 1) {
+            try (InspectContainerCmd cmd = getDockerClient().inspectContainerCmd(containers.getFirst().getId())) {
+                InspectContainerResponse.ContainerState state = cmd.exec().getState();
+                return Boolean.TRUE.equals(state.getRunning()) ? null : state.getExitCodeLong();
+            }
+        }
+        return null;
+    }
+
     public void execCommandInContainer(String containerName, String cmd) throws InterruptedException {
         List<Container> containers = findContainer(containerName);
         if (containers.size() == 1) {
@@ -374,50 +392,49 @@ public class DockerService {
     }
 
     public void pullImage(String image, boolean pullAlways) throws InterruptedException {
-        try (ListImagesCmd cmd = getDockerClient().listImagesCmd().withShowAll(true)) {
-            List<Image> images = cmd.exec();
-            List<String> tags = images.stream()
-                    .map(i -> Arrays.stream(i.getRepoTags()).collect(Collectors.toList()))
-                    .flatMap(Collection::stream)
-                    .toList();
-
-            if (pullAlways || images.stream().noneMatch(i -> tags.contains(image))) {
-                var callback = new DockerPullCallback(log::info);
+        if (pullAlways || !getImageIndex().hasTag(image)) {
+            pullCoordinator.pull(image, callback -> {
                 try (PullImageCmd pullImageCmd = getDockerClient().pullImageCmd(image)) {
                     pullImageCmd.exec(callback);
                     callback.awaitCompletion();
                 }
-            }
+            });
+        }
+    }
+
+    /**
+     * Pushes an image of the registry under another tag of the repository without building it
+     */
+    public void tagAndPushImage(String image, String repository, String tag) throws InterruptedException {
+        pullImage(image, false);
+        try (TagImageCmd cmd = getDockerClient().tagImageCmd(image, repository, tag)) {
+            cmd.exec();
+        }
+        try (PushImageCmd cmd = getDockerClient().pushImageCmd(repository).withTag(tag)) {
+            cmd.exec(new ResultCallback.Adapter<>()).awaitCompletion();
         }
     }
 
     public void pullImageFromDockerHub(String image, boolean pullAlways) throws InterruptedException {
-        try (ListImagesCmd cmd = getDockerClientNotConnectedToRegistry().listImagesCmd().withShowAll(true)) {
-            List<Image> images = cmd.exec();
-            List<String> tags = images.stream()
-                    .filter(i -> i.getRepoTags() != null)
-                    .map(i -> Arrays.stream(i.getRepoTags()).collect(Collectors.toList()))
-                    .flatMap(Collection::stream)
-                    .toList();
-
-            if (pullAlways || images.stream().noneMatch(i -> tags.contains(image))) {
-                var callback = new DockerPullCallback(log::info);
+        if (pullAlways || !getImageIndex().hasTag(image)) {
+            pullCoordinator.pull(image, callback -> {
                 try (PullImageCmd pullImageCmd = getDockerClientNotConnectedToRegistry().pullImageCmd(image)) {
                     pullImageCmd.exec(callback);
                     callback.awaitCompletion();
                 }
-            }
+            });
         }
     }
 
     public void pullImagesForProject(String projectId) throws InterruptedException {
         if (!Objects.equals(properties.containerImage().registry(), "registry:5000") && properties.containerImage().registryUsername().isPresent() && properties.containerImage().registryPassword().isPresent()) {
             var repository = properties.containerImage().registry() + "/" + properties.containerImage().group() + "/" + projectId;
-            try (PullImageCmd cmd = getDockerClient().pullImageCmd(repository)) {
-                var callback = new DockerPullCallback(log::info);
-                cmd.exec(callback);
-                callback.awaitCompletion();
-            }
+            pullCoordinator.pull(repository, callback -> {
+                try (PullImageCmd cmd = getDockerClient().pullImageCmd(repository)) {
+                    cmd.exec(callback);
+                    callback.awaitCompletion();
+                }
+            });
         }
     }
 
@@ -447,22 +464,56 @@ public class DockerService {
     }
 
     public List<ContainerImage> getImages() {
-        try (ListImagesCmd cmd = getDockerClient().listImagesCmd().withShowAll(true)) {
-            return cmd.exec().stream()
-                    .filter(image -> image != null && image.getRepoTags() != null && image.getRepoTags().length > 0)
-                    .map(image -> new ContainerImage(image.getId(), image.getRepoTags()[0], image.getCreated(), image.getSize()))
-                    .toList();
+        return getImageIndex().getImages();
+    }
+
+    /**
+     * @param prefix start of the tag without registry, e.g. group/project:
+     */
+    public List<ContainerImage> getImages(String prefix) {
+        return getImageIndex().getImagesByPrefix(prefix);
+    }
+
+    // lists the images once, image events keep the index current, without events every call lists them again
+    private DockerImageIndex getImageIndex() {
+        synchronized (imageIndex) {
+            if (!imageIndex.isLoaded() || !dockerEventHandler.isListening()) {
+                try (ListImagesCmd cmd = getDockerClient().listImagesCmd().withShowAll(true)) {
+                    imageIndex.load(cmd.exec().stream()
+                            .filter(image -> image != null && image.getRepoTags() != null)
+                            .map(image -> getImageEntry(image.getId(), image.getRepoTags(), image.getCreated(), image.getSize()))
+                            .filter(entry -> !entry.tags().isEmpty())
+                            .toList());
+                }
+            }
+            return imageIndex;
         }
     }
 
+    void onImageEvent(Event event) {
+        if (!imageIndex.isLoaded()) {
+            return;
+        }
+        String id = event.getActor() != null && event.getActor().getId() != null ? event.getActor().getId() : event.getId();
+        try (InspectImageCmd cmd = getDockerClient().inspectImageCmd(id)) {
+            InspectImageResponse image = cmd.exec();
+            Long created = image.getCreated() != null ? Instant.parse(image.getCreated()).getEpochSecond() : null;
+            imageIndex.update(getImageEntry(image.getId(), image.getRepoTags() != null ? image.getRepoTags().toArray(String[]::new) : new String[0], created, image.getSize()));
+        } catch (NotFoundException e) {
+            imageIndex.remove(id);
+        }
+    }
+
+    private static DockerImageIndex.Entry getImageEntry(String id, String[] repoTags, Long created, Long size) {
+        List<String> tags = Arrays.stream(repoTags).filter(tag -> !Objects.equals(tag, "<none>:<none>")).toList();
+        return new DockerImageIndex.Entry(id, tags, created, size);
+    }
+
     public void deleteImage(String imageName) {
-        try (ListImagesCmd listImagesCmd = getDockerClient().listImagesCmd().withShowAll(true)) {
-            Optional<Image> image = listImagesCmd.exec().stream()
-                    .filter(i -> Arrays.asList(i.getRepoTags()).contains(imageName)).findFirst();
-            if (image.isPresent()) {
-                try (RemoveImageCmd removeImageCmd = getDockerClient().removeImageCmd(image.get().getId())) {
-                    removeImageCmd.exec();
-                }
+        String id = getImageIndex().getId(imageName);
+        if (id != null) {
+            try (RemoveImageCmd removeImageCmd = getDockerClient().removeImageCmd(id)) {
+                removeImageCmd.exec();
             }
         }
     }
@@ -19,7 +19,6 @@ package org.apache.camel.karavan.kubernetes;
 
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
-import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +26,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.karavan.model.ContainerType;
 import org.apache.camel.karavan.model.DeploymentStatus;
 
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.apache.camel.karavan.KaravanConstants.LABEL_TYPE;
 import static org.apache.camel.karavan.KaravanEvents.DEPLOYMENT_DELETED;
 import static org.apache.camel.karavan.KaravanEvents.DEPLOYMENT_UPDATED;
@@ -35,15 +37,18 @@ import static org.apache.camel.karavan.KaravanEvents.DEPLOYMENT_UPDATED;
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class DeploymentEventHandler implements ResourceEventHandler<Deployment> {
 
-    private final KubernetesStatusService kubernetesStatusService;
+    private final InformerGroup informerGroup;
     private final EventBus eventBus;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
 
     @Override
     public void onAdd(Deployment deployment) {
         try {
+            processed.incrementAndGet();
             log.info("onAdd " + deployment.getMetadata().getName());
             DeploymentStatus ds = getDeploymentStatus(deployment);
-            eventBus.publish(DEPLOYMENT_UPDATED, JsonObject.mapFrom(ds));
+            eventBus.publish(DEPLOYMENT_UPDATED, ds);
         } catch (Exception e) {
             log.error(e.getMessage());
         }
@@ -52,9 +57,21 @@ public class DeploymentEventHandler implements ResourceEventHandler<Deployment>
     @Override
     public void onUpdate(Deployment oldDeployment, Deployment newDeployment) {
         try {
-            log.info("onUpdate " + newDeployment.getMetadata().getName());
+            String name = newDeployment.getMetadata().getName();
+            // a resync restores a status cleared from the cache
+            if (!hasChanged(oldDeployment, newDeployment)
+                    && informerGroup.getKaravanCache().getDeploymentStatus(name, informerGroup.getEnvironment()) != null) {
+                suppressed.incrementAndGet();
+                return;
+            }
+            processed.incrementAndGet();
+            log.info("onUpdate " + name);
             DeploymentStatus ds = getDeploymentStatus(newDeployment);
-            eventBus.publish(DEPLOYMENT_UPDATED, JsonObject.mapFrom(ds));
+            eventBus.publish(DEPLOYMENT_UPDATED, ds);
+            if (oldDeployment != null && (!Objects.equals(oldDeployment.getMetadata().getLabels(), newDeployment.getMetadata().getLabels())
+                    || !Objects.equals(oldDeployment.getMetadata().getAnnotations(), newDeployment.getMetadata().getAnnotations()))) {
+                informerGroup.refreshPods(name);
+            }
         } catch (Exception e) {
             log.error(e.getMessage());
         }
@@ -63,18 +80,54 @@ public class DeploymentEventHandler implements ResourceEventHandler<Deployment>
     @Override
     public void onDelete(Deployment deployment, boolean deletedFinalStateUnknown) {
         try {
+            processed.incrementAndGet();
             log.info("onDelete " + deployment.getMetadata().getName());
             DeploymentStatus ds = new DeploymentStatus(
                     deployment.getMetadata().getName(),
                     deployment.getMetadata().getNamespace(),
-                    kubernetesStatusService.getCluster(),
-                    kubernetesStatusService.getEnvironment());
-            eventBus.publish(DEPLOYMENT_DELETED, JsonObject.mapFrom(ds));
+                    informerGroup.getCluster(),
+                    informerGroup.getEnvironment());
+            eventBus.publish(DEPLOYMENT_DELETED, ds);
         } catch (Exception e) {
             log.error(e.getMessage());
         }
     }
 
+    /**
+     * Resyncs deliver the same resourceVersion, and most real updates only touch fields
+     * that are not part of DeploymentStatus (conditions, observedGeneration, managedFields).
+     */
+    static boolean hasChanged(Deployment oldDeployment, Deployment newDeployment) {
+        if (oldDeployment == null) {
+            return true;
+        }
+        if (Objects.equals(oldDeployment.getMetadata().getResourceVersion(), newDeployment.getMetadata().getResourceVersion())) {
+            return false;
+        }
+        return !Objects.equals(oldDeployment.getMetadata().getLabels(), newDeployment.getMetadata().getLabels())
+                || !Objects.equals(oldDeployment.getMetadata().getAnnotations(), newDeployment.getMetadata().getAnnotations())
+                || !Objects.equals(oldDeployment.getSpec().getReplicas(), newDeployment.getSpec().getReplicas())
+                || !Objects.equals(getImage(oldDeployment), getImage(newDeployment))
+                || !Objects.equals(oldDeployment.getStatus().getReadyReplicas(), newDeployment.getStatus().getReadyReplicas())
+                || !Objects.equals(oldDeployment.getStatus().getUnavailableReplicas(), newDeployment.getStatus().getUnavailableReplicas());
+    }
+
+    private static String getImage(Deployment deployment) {
+        try {
+            return deployment.getSpec().getTemplate().getSpec().getContainers().getFirst().getImage();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+
     public DeploymentStatus getDeploymentStatus(Deployment deployment) {
         try {
             var dsImage = deployment.getSpec().getTemplate().getSpec().getContainers().getFirst().getImage();
@@ -86,8 +139,8 @@ public class DeploymentEventHandler implements ResourceEventHandler<Deployment>
             return new DeploymentStatus(
                     deployment.getMetadata().getName(),
                     deployment.getMetadata().getNamespace(),
-                    kubernetesStatusService.getCluster(),
-                    kubernetesStatusService.getEnvironment(),
+                    informerGroup.getCluster(),
+                    informerGroup.getEnvironment(),
                     imageName,
                     deployment.getSpec().getReplicas(),
                     deployment.getStatus().getReadyReplicas(),
@@ -99,8 +152,8 @@ public class DeploymentEventHandler implements ResourceEventHandler<Deployment>
             return new DeploymentStatus(
                     deployment.getMetadata().getName(),
                     deployment.getMetadata().getNamespace(),
-                    kubernetesStatusService.getCluster(),
-                    kubernetesStatusService.getEnvironment());
+                    informerGroup.getCluster(),
+                    informerGroup.getEnvironment());
         }
     }
 }
\ No newline at end of file
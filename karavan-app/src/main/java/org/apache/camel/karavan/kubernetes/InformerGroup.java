@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.kubernetes;
+
+import io.fabric8.kubernetes.api.model.*;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.vertx.mutiny.core.eventbus.EventBus;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanCache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Deployment, Service and Pod informers of one namespace (optionally in another kubeconfig context).
+ * Every status produced by the group is tagged with the group environment.
+ */
+@Slf4j
+public class InformerGroup {
+
+    protected static final int INFORMERS = 3;
+    private static final long RESYNC_PERIOD = 30 * 1000L;
+
+    @Getter
+    private final String environment;
+    @Getter
+    private final String namespace;
+    private final KubernetesClient client;
+    private final boolean ownClient;
+    private final String labelSelector;
+    private final long listLimit;
+    private final EventBus eventBus;
+    @Getter
+    private final KaravanCache karavanCache;
+
+    private final List<SharedIndexInformer<?>> informers = new ArrayList<>(INFORMERS);
+    private DeploymentEventHandler deploymentEventHandler;
+    private ServiceEventHandler serviceEventHandler;
+    private PodEventHandler podEventHandler;
+    private SharedIndexInformer<Pod> podInformer;
+    private String cluster;
+
+    public InformerGroup(String environment, String namespace, KubernetesClient client, boolean ownClient,
+                         String labelSelector, long listLimit, EventBus eventBus, KaravanCache karavanCache) {
+        this.environment = environment;
+        this.namespace = namespace;
+        this.client = client;
+        this.ownClient = ownClient;
+        this.labelSelector = labelSelector;
+        this.listLimit = listLimit;
+        this.eventBus = eventBus;
+        this.karavanCache = karavanCache;
+    }
+
+    public synchronized void start() {
+        stopInformers();
+        log.info("Starting Kubernetes Informers for " + environment + " in the namespace " + namespace);
+
+        deploymentEventHandler = new DeploymentEventHandler(this, eventBus);
+        SharedIndexInformer<Deployment> deploymentInformer = labelSelector != null
+                ? client.apps().deployments().inNamespace(namespace).withLabelSelector(labelSelector).withLimit(listLimit).inform()
+                : client.apps().deployments().inNamespace(namespace).withLimit(listLimit).inform();
+        deploymentInformer.addEventHandlerWithResyncPeriod(deploymentEventHandler, RESYNC_PERIOD);
+        informers.add(deploymentInformer);
+
+        serviceEventHandler = new ServiceEventHandler(this, eventBus);
+        SharedIndexInformer<Service> serviceInformer = labelSelector != null
+                ? client.services().inNamespace(namespace).withLabelSelector(labelSelector).withLimit(listLimit).inform()
+                : client.services().inNamespace(namespace).withLimit(listLimit).inform();
+        serviceInformer.addEventHandlerWithResyncPeriod(serviceEventHandler, RESYNC_PERIOD);
+        informers.add(serviceInformer);
+
+        podEventHandler = new PodEventHandler(this, eventBus);
+        podInformer = labelSelector != null
+                ? client.pods().inNamespace(namespace).withLabelSelector(labelSelector).withLimit(listLimit).inform()
+                : client.pods().inNamespace(namespace).withLimit(listLimit).inform();
+        podInformer.addEventHandlerWithResyncPeriod(podEventHandler, RESYNC_PERIOD);
+        informers.add(podInformer);
+
+        log.info("Started Kubernetes Informers for " + environment);
+    }
+
+    public synchronized void stop() {
+        stopInformers();
+        if (ownClient) {
+            client.close();
+        }
+    }
+
+    private void stopInformers() {
+        informers.forEach(SharedIndexInformer::close);
+        informers.clear();
+    }
+
+    public boolean isReady() {
+        return informers.size() == INFORMERS;
+    }
+
+    public Map<String, Map<String, Long>> getEventCounters() {
+        Map<String, Map<String, Long>> result = new HashMap<>();
+        if (deploymentEventHandler != null) {
+            result.put("deployment", Map.of("processed", deploymentEventHandler.getProcessed(), "suppressed", deploymentEventHandler.getSuppressed()));
+        }
+        if (serviceEventHandler != null) {
+            result.put("service", Map.of("processed", serviceEventHandler.getProcessed(), "suppressed", serviceEventHandler.getSuppressed()));
+        }
+        if (podEventHandler != null) {
+            result.put("pod", Map.of("processed", podEventHandler.getProcessed(), "suppressed", podEventHandler.getSuppressed()));
+        }
+        return result;
+    }
+
+    /**
+     * Publishes the pods of the deployment again, their status carries labels and annotations of the deployment
+     */
+    void refreshPods(String deploymentName) {
+        SharedIndexInformer<Pod> informer = podInformer;
+        if (informer != null && podEventHandler != null) {
+            informer.getStore().list().stream()
+                    .filter(pod -> pod.getMetadata().getLabels() != null && Objects.equals(pod.getMetadata().getLabels().get("app"), deploymentName))
+                    .forEach(podEventHandler::publish);
+        }
+    }
+
+    public Deployment getDeployment(String name) {
+        return client.apps().deployments().inNamespace(namespace).withName(name).get();
+    }
+
+    public String getCluster() {
+        if (cluster == null) {
+            cluster = client.getMasterUrl().getHost();
+        }
+        return cluster;
+    }
+
+    public ResourceRequirements getResourceRequirements(Map<String, String> containerResources) {
+        return new ResourceRequirementsBuilder()
+                .addToRequests("cpu", new Quantity(containerResources.get("requests.cpu")))
+                .addToRequests("memory", new Quantity(containerResources.get("requests.memory")))
+                .addToLimits("cpu", new Quantity(containerResources.get("limits.cpu")))
+                .addToLimits("memory", new Quantity(containerResources.get("limits.memory")))
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.kubernetes;
+
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.config.KaravanProperties;
+
+/**
+ * Produces the single KubernetesClient shared by all Karavan services.
+ * The client (connection pool, dispatcher threads, TLS session) is created lazily on first use and closed on shutdown.
+ */
+@Slf4j
+@Singleton
+public class KubernetesClientProducer {
+
+    @Produces
+    @ApplicationScoped
+    public KubernetesClient kubernetesClient(KaravanProperties properties) {
+        Config config = new ConfigBuilder(Config.autoConfigure(null))
+                .withMaxConcurrentRequests(properties.kubernetes().maxConcurrentRequests())
+                .withMaxConcurrentRequestsPerHost(properties.kubernetes().maxConcurrentRequestsPerHost())
+                .build();
+        log.info("Creating shared Kubernetes client for " + config.getMasterUrl());
+        return new KubernetesClientBuilder().withConfig(config).build();
+    }
+
+    public void close(@Disposes KubernetesClient client) {
+        log.info("Closing shared Kubernetes client");
+        client.close();
+    }
+}
@@ -19,14 +19,11 @@ package org.apache.camel.karavan.kubernetes;
 import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.KubernetesClientBuilder;
 import io.fabric8.kubernetes.client.dsl.LogWatch;
 import io.fabric8.kubernetes.client.utils.Serialization;
 import io.quarkus.runtime.LaunchMode;
-import io.smallrye.mutiny.tuples.Tuple2;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Default;
-import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +33,7 @@ import org.apache.camel.karavan.model.KubernetesConfigMap;
 import org.apache.camel.karavan.model.KubernetesSecret;
 import org.apache.camel.karavan.service.CodeService;
 import org.apache.camel.karavan.service.ConfigService;
+import org.apache.camel.karavan.service.MavenRepositoryService;
 
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
@@ -53,13 +51,14 @@ public class KubernetesService {
 
     private final KaravanProperties properties;
     private final CodeService codeService;
+    private final KubernetesClient client;
 
     private String namespace;
 
     public void createConfigmap(String name, Map<String, String> data) {
         log.info("Creating configmap " + name);
         if (ConfigService.inKubernetes()) {
-            try (KubernetesClient client = kubernetesClient()) {
+            try {
                 ConfigMap configMap = client.configMaps().inNamespace(getNamespace()).withName(name).get();
                 if (configMap == null) {
                     configMap = new ConfigMapBuilder()
@@ -82,16 +81,9 @@ public class KubernetesService {
         }
     }
 
-    @Produces
-    public KubernetesClient kubernetesClient() {
-        return new KubernetesClientBuilder().build();
-    }
-
     public String getNamespace() {
         if (namespace == null) {
-            try (KubernetesClient client = kubernetesClient()) {
-                namespace = LaunchMode.current().getProfileKey().equalsIgnoreCase("dev") ? "karavan" : client.getNamespace();
-            }
+            namespace = LaunchMode.current().getProfileKey().equalsIgnoreCase("dev") ? "karavan" : client.getNamespace();
         }
         return namespace;
     }
@@ -103,7 +95,7 @@ public class KubernetesService {
     }
 
     public void runBuildProject(String projectId, String podFragment) {
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             String containerName = projectId + BUILDER_SUFFIX;
             Map<String, String> labels = getLabels(containerName, projectId, ContainerType.build);
 
@@ -166,10 +158,16 @@ public class KubernetesService {
             volumeMounts.add(new VolumeMountBuilder().withName(PRIVATE_KEY_SECRET_KEY).withMountPath("/karavan/.ssh/id_rsa").withSubPath("id_rsa").withReadOnly(true).build());
             volumeMounts.add(new VolumeMountBuilder().withName(KNOWN_HOSTS_SECRET_KEY).withMountPath("/karavan/.ssh/known_hosts").withSubPath("known_hosts").withReadOnly(true).build());
         }
+        if (properties.maven().shared().enabled()) {
+            volumeMounts.add(getSharedM2VolumeMount());
+        }
 
         Pod pod = Serialization.unmarshal(configFragment, Pod.class);
 
         pod.getSpec().getContainers().getFirst().getEnv().add(new EnvVarBuilder().withName(RUN_IN_BUILD_MODE).withValue("true").build());
+        if (properties.maven().shared().enabled()) {
+            addSharedMavenOpts(pod.getSpec().getContainers().getFirst().getEnv());
+        }
 
         Container container = new ContainerBuilder()
                 .withName(name)
@@ -202,6 +200,9 @@ public class KubernetesService {
                             new KeyToPathBuilder().withKey(KNOWN_HOSTS_SECRET_KEY).withPath("known_hosts").build()
                     ).withDefaultMode(511).build()).build());
         }
+        if (properties.maven().shared().enabled()) {
+            volumes.add(getSharedM2Volume());
+        }
 
         PodSpec spec = new PodSpecBuilder()
                 .withTerminationGracePeriodSeconds(0L)
@@ -218,7 +219,7 @@ public class KubernetesService {
     }
 
     public boolean hasDockerConfigSecret() {
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             return client.secrets().inNamespace(getNamespace()).withName(BUILD_DOCKER_CONFIG_SECRET).get() != null;
         } catch (Exception ex) {
             log.error(ex.getMessage());
@@ -226,14 +227,12 @@ public class KubernetesService {
         }
     }
 
-    public Tuple2<LogWatch, KubernetesClient> getContainerLogWatch(String podName) {
-        KubernetesClient client = kubernetesClient();
-        LogWatch logWatch = client.pods().inNamespace(getNamespace()).withName(podName).tailingLines(100).watchLog();
-        return Tuple2.of(logWatch, client);
+    public LogWatch getContainerLogWatch(String podName) {
+        return client.pods().inNamespace(getNamespace()).withName(podName).tailingLines(100).watchLog();
     }
 
     public void rolloutDeployment(String name) {
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             client.apps().deployments().inNamespace(getNamespace()).withName(name).rolling().restart();
         } catch (Exception ex) {
             log.error(ex.getMessage());
@@ -241,7 +240,7 @@ public class KubernetesService {
     }
 
     public void startDeployment(String resources, Map<String, String> labels) {
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             KubernetesList list = Serialization.unmarshal(resources, KubernetesList.class);
             list.getItems().forEach(item -> {
                 if (labels != null) {
@@ -257,8 +256,33 @@ public class KubernetesService {
         }
     }
 
+    /**
+     * @return image of the first container of the deployment, null if there is no deployment
+     */
+    public String getDeploymentImage(String name) {
+        Deployment deployment = client.apps().deployments().inNamespace(getNamespace()).withName(name).get();
+        if (deployment == null || deployment.getSpec().getTemplate().getSpec().getContainers().isEmpty()) {
+            return null;
+        }
+        return deployment.getSpec().getTemplate().getSpec().getContainers().getFirst().getImage();
+    }
+
+    /**
+     * @return exit code of the terminated first container of the pod, null if the pod does not exist or still runs
+     */
+    public Long getExitCode(String podName) {
+        Pod pod = client.pods().inNamespace(getNamespace()).withName(podName).get();
+        if (pod == null || pod.getStatus() == null || pod.getStatus().getContainerStatuses() == null || pod.getStatus().getContainerStatuses().isEmpty()) {
+            return null;
+        }
+        ContainerState state = pod.getStatus().getContainerStatuses().getFirst().getState();
+        return state != null && state.getTerminated() != null && state.getTerminated().getExitCode() != null
+                ? state.getTerminated().getExitCode().longValue()
+                : null;
+    }
+
     public void deleteDeployment(String name) {
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             log.info("Delete deployment: " + name + " in the namespace: " + getNamespace());
             client.apps().deployments().inNamespace(getNamespace()).withName(name).delete();
             client.services().inNamespace(getNamespace()).withName(name).delete();
@@ -268,7 +292,7 @@ public class KubernetesService {
     }
 
     public void deletePod(String name) {
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             log.info("Delete pod: " + name);
             client.pods().inNamespace(getNamespace()).withName(name).delete();
         } catch (Exception ex) {
@@ -278,7 +302,7 @@ public class KubernetesService {
 
     public List<String> getConfigMaps(String namespace) {
         List<String> result = new ArrayList<>();
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             client.configMaps().inNamespace(namespace).list().getItems().forEach(configMap -> {
                 String name = configMap.getMetadata().getName();
                 if (configMap.getData() != null) {
@@ -293,7 +317,7 @@ public class KubernetesService {
 
     public List<String> getSecrets(String namespace) {
         List<String> result = new ArrayList<>();
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             client.secrets().inNamespace(namespace).list().getItems().forEach(secret -> {
                 String name = secret.getMetadata().getName();
                 if (secret.getData() != null) {
@@ -308,7 +332,7 @@ public class KubernetesService {
 
     public List<String> getServices(String namespace) {
         List<String> result = new ArrayList<>();
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             client.services().inNamespace(namespace).list().getItems().forEach(service -> {
                 String name = service.getMetadata().getName();
                 String host = name + "." + namespace + ".svc.cluster.local";
@@ -324,28 +348,29 @@ public class KubernetesService {
         Map<String, String> podLabels = new HashMap<>(labels);
         podLabels.putAll(getLabels(projectId, projectId, ContainerType.devmode));
 
-        try (KubernetesClient client = kubernetesClient()) {
-            if (properties.devmode().createM2()) {
-                createPVC(projectId, labels);
-            }
-            Pod old = client.pods().inNamespace(getNamespace()).withName(projectId).get();
-            if (old == null) {
-                Pod pod = getDevModePod(projectId, verbose, compile, podLabels, projectDevmodeImage, deploymentFragment, envVars);
-                Pod result = client.resource(pod).serverSideApply(); // important
-                result = client.pods().inNamespace(getNamespace()).withName(projectId).waitUntilReady(30, TimeUnit.SECONDS);
-                log.info("Pod " + result.getMetadata().getName() + " status " + result.getStatus());
-                var copyFiles = copyFilesToContainer(result, files, "/karavan/code");
-                log.info("Pod files copy result is " + copyFiles);
-                var copyDone = copyFilesToContainer(result, Map.of(".karavan.done", "done"), "/tmp");
-                log.info("Pod files copy done is " + copyDone);
-                log.info("Pod pod " + result.getMetadata().getName());
-            }
+        if (properties.devmode().createM2()) {
+            createPVC(projectId, labels);
+        }
+        if (properties.maven().shared().enabled()) {
+            createSharedM2PVC();
+        }
+        Pod old = client.pods().inNamespace(getNamespace()).withName(projectId).get();
+        if (old == null) {
+            Pod pod = getDevModePod(projectId, verbose, compile, podLabels, projectDevmodeImage, deploymentFragment, envVars);
+            Pod result = client.resource(pod).serverSideApply(); // important
+            result = client.pods().inNamespace(getNamespace()).withName(projectId).waitUntilReady(30, TimeUnit.SECONDS);
+            log.info("Pod " + result.getMetadata().getName() + " status " + result.getStatus());
+            var copyFiles = copyFilesToContainer(result, files, "/karavan/code");
+            log.info("Pod files copy result is " + copyFiles);
+            var copyDone = copyFilesToContainer(result, Map.of(".karavan.done", "done"), "/tmp");
+            log.info("Pod files copy done is " + copyDone);
+            log.info("Pod pod " + result.getMetadata().getName());
         }
         createService(projectId, podLabels);
     }
 
     private boolean copyFilesToContainer(Pod pod, Map<String, String> files, String dirName) {
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             String temp = codeService.saveProjectFilesInTemp(files);
             return client.pods().inNamespace(getNamespace())
                     .withName(pod.getMetadata().getName())
@@ -358,7 +383,7 @@ public class KubernetesService {
     }
 
     public void deletePodAndService(String name, boolean deletePVC) {
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             log.info("Delete pod/service: " + name + " in the namespace: " + getNamespace());
             client.pods().inNamespace(getNamespace()).withName(name).delete();
             client.services().inNamespace(getNamespace()).withName(name).delete();
@@ -390,9 +415,17 @@ public class KubernetesService {
         }
         List<VolumeMount> volumeMounts = new ArrayList<>();
         try {
-            volumeMounts = podSpec.getContainers().getFirst().getVolumeMounts();
+            volumeMounts = new ArrayList<>(podSpec.getContainers().getFirst().getVolumeMounts());
         } catch (Exception ignored) {
         }
+        // the per-project claim below was attached to the pod but never mounted, it is now the repository Maven writes to,
+        // in front of the read-only shared one, unless the deployment fragment already mounts something there
+        if (properties.devmode().createM2() && volumeMounts.stream().noneMatch(m -> Objects.equals(m.getMountPath(), M2_REPOSITORY_PATH))) {
+            volumeMounts.add(new VolumeMountBuilder().withName(name).withMountPath(M2_REPOSITORY_PATH).build());
+        }
+        if (properties.maven().shared().enabled()) {
+            volumeMounts.add(getSharedM2VolumeMount());
+        }
 
         Map<String, String> containerResources = CodeService.DEFAULT_CONTAINER_RESOURCES;
         ResourceRequirements resources = getResourceRequirements(containerResources);
@@ -426,6 +459,9 @@ public class KubernetesService {
         if (compile) {
             environmentVariables.add(new EnvVarBuilder().withName(RUN_IN_COMPILE_MODE).withValue("true").build());
         }
+        if (properties.maven().shared().enabled()) {
+            addSharedMavenOpts(environmentVariables);
+        }
 
         Container container = new ContainerBuilder()
                 .withName(name)
@@ -444,6 +480,9 @@ public class KubernetesService {
         if (properties.devmode().createM2()) {
             podSpec.getVolumes().add(new VolumeBuilder().withName(name).withNewPersistentVolumeClaim(name, false).build());
         }
+        if (properties.maven().shared().enabled()) {
+            podSpec.getVolumes().add(getSharedM2Volume());
+        }
 
         return new PodBuilder()
                 .withMetadata(meta)
@@ -451,90 +490,157 @@ public class KubernetesService {
                 .build();
     }
 
-    private void createPVC(String podName, Map<String, String> labels) {
-        try (KubernetesClient client = kubernetesClient()) {
-            PersistentVolumeClaim old = client.persistentVolumeClaims().inNamespace(getNamespace()).withName(podName).get();
-            if (old == null) {
-                PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder()
-                        .withNewMetadata()
-                        .withName(podName)
-                        .withNamespace(getNamespace())
-                        .withLabels(labels)
-                        .endMetadata()
-                        .withNewSpec()
-                        .withResources(new VolumeResourceRequirementsBuilder().withRequests(Map.of("storage", new Quantity("2Gi"))).build())
-                        .withVolumeMode("Filesystem")
-                        .withAccessModes("ReadWriteOnce")
-                        .endSpec()
-                        .build();
-                client.resource(pvc).serverSideApply();
-            }
+    /**
+     * Merges the shared repository tail into MAVEN_OPTS set by the pod fragment or the user, a value taken
+     * from a config map or secret can not be merged and is kept without the tail
+     */
+    private static void addSharedMavenOpts(List<EnvVar> env) {
+        List<EnvVar> existing = env.stream().filter(e -> Objects.equals(e.getName(), ENV_VAR_MAVEN_OPTS)).toList();
+        if (existing.stream().anyMatch(e -> e.getValueFrom() != null)) {
+            log.warn(ENV_VAR_MAVEN_OPTS + " is set from a reference, the shared Maven repository is not used");
+            return;
         }
+        String mavenOpts = existing.isEmpty() ? null : existing.getLast().getValue();
+        env.removeAll(existing);
+        env.add(new EnvVarBuilder().withName(ENV_VAR_MAVEN_OPTS).withValue(MavenRepositoryService.withSharedRepository(mavenOpts)).build());
     }
 
-    private void createService(String name, Map<String, String> labels) {
-        try (KubernetesClient client = kubernetesClient()) {
-            ServicePort http = new ServicePortBuilder()
-                    .withName("http").withPort(80).withProtocol("TCP").withTargetPort(new IntOrString(8080)).build();
-            ServicePort https = new ServicePortBuilder()
-                    .withName("https").withPort(443).withProtocol("TCP").withTargetPort(new IntOrString(8080)).build();
-
-            Service service = new ServiceBuilder()
+    private void createPVC(String podName, Map<String, String> labels) {
+        PersistentVolumeClaim old = client.persistentVolumeClaims().inNamespace(getNamespace()).withName(podName).get();
+        if (old == null) {
+            PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder()
                     .withNewMetadata()
-                    .withName(name)
+                    .withName(podName)
                     .withNamespace(getNamespace())
                     .withLabels(labels)
                     .endMetadata()
                     .withNewSpec()
-                    .withType("ClusterIP")
-                    .withPorts(http, https)
-                    .withSelector(labels)
+                    .withResources(new VolumeResourceRequirementsBuilder().withRequests(Map.of("storage", new Quantity("2Gi"))).build())
+                    .withVolumeMode("Filesystem")
+                    .withAccessModes("ReadWriteOnce")
                     .endSpec()
                     .build();
-            client.resource(service).serverSideApply();
+            client.resource(pvc).serverSideApply();
         }
     }
 
-    public void createSecret(String name, Map<String, String> data, Map<String, String> labels) {
-        try (KubernetesClient client = kubernetesClient()) {
-            Secret secret = new SecretBuilder()
-                    .withNewMetadata()
-                    .withName(name)
-                    .withNamespace(getNamespace())
-                    .withLabels(labels)
-                    .endMetadata()
-                    .withStringData(data)
-                    .build();
-            client.resource(secret).serverSideApply();
+    /**
+     * Copies the Maven repository of the devmode image into the shared claim, once per devmode image
+     */
+    public void seedSharedM2Repository() {
+        createSharedM2PVC();
+        Pod old = client.pods().inNamespace(getNamespace()).withName(M2_SEED_CONTAINER).get();
+        if (old != null) {
+            client.resource(old).delete();
         }
+        String image = properties.devmode().image();
+        log.info("Seeding shared Maven repository " + properties.maven().shared().volume() + " from " + image);
+        Map<String, String> labels = new HashMap<>(getPartOfLabels());
+        labels.put("app.kubernetes.io/name", M2_SEED_CONTAINER);
+        labels.put(LABEL_TYPE, ContainerType.internal.name());
+        Container container = new ContainerBuilder()
+                .withName(M2_SEED_CONTAINER)
+                .withImage(image)
+                .withImagePullPolicy(properties.devmode().imagePullPolicy())
+                .withEnv(new EnvVarBuilder().withName("DEVMODE_IMAGE").withValue(image).build())
+                .withCommand("/bin/sh", "-c", M2_SEED_SCRIPT)
+                .withVolumeMounts(new VolumeMountBuilder().withName(properties.maven().shared().volume()).withMountPath(M2_SHARED_PATH).build())
+                .build();
+        Pod pod = new PodBuilder()
+                .withNewMetadata().withName(M2_SEED_CONTAINER).withLabels(labels).withNamespace(getNamespace()).endMetadata()
+                .withNewSpec()
+                .withTerminationGracePeriodSeconds(0L)
+                .withContainers(container)
+                .withRestartPolicy("Never")
+                .withVolumes(getSharedM2Volume())
+                .endSpec()
+                .build();
+        client.resource(pod).create();
     }
 
-    public void createConfigMap(String name, Map<String, String> data, Map<String, String> labels) {
-        try (KubernetesClient client = kubernetesClient()) {
-            ConfigMap configMap = new ConfigMapBuilder()
+    private void createSharedM2PVC() {
+        var shared = properties.maven().shared();
+        PersistentVolumeClaim old = client.persistentVolumeClaims().inNamespace(getNamespace()).withName(shared.volume()).get();
+        if (old == null) {
+            PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder()
                     .withNewMetadata()
-                    .withName(name)
+                    .withName(shared.volume())
                     .withNamespace(getNamespace())
-                    .withLabels(labels)
+                    .withLabels(getPartOfLabels())
                     .endMetadata()
-                    .withData(data)
+                    .withNewSpec()
+                    .withResources(new VolumeResourceRequirementsBuilder().withRequests(Map.of("storage", new Quantity(shared.storage()))).build())
+                    .withVolumeMode("Filesystem")
+                    .withAccessModes(shared.accessMode())
+                    .endSpec()
                     .build();
-            client.resource(configMap).serverSideApply();
+            client.resource(pvc).serverSideApply();
         }
     }
 
+    private Volume getSharedM2Volume() {
+        String claim = properties.maven().shared().volume();
+        return new VolumeBuilder().withName(claim).withNewPersistentVolumeClaim(claim, false).build();
+    }
+
+    // builders and devmode only read the shared repository, the seed pod is the only writer
+    private VolumeMount getSharedM2VolumeMount() {
+        return new VolumeMountBuilder().withName(properties.maven().shared().volume()).withMountPath(M2_SHARED_PATH).withReadOnly(true).build();
+    }
+
+    private void createService(String name, Map<String, String> labels) {
+        ServicePort http = new ServicePortBuilder()
+                .withName("http").withPort(80).withProtocol("TCP").withTargetPort(new IntOrString(8080)).build();
+        ServicePort https = new ServicePortBuilder()
+                .withName("https").withPort(443).withProtocol("TCP").withTargetPort(new IntOrString(8080)).build();
+
+        Service service = new ServiceBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(getNamespace())
+                .withLabels(labels)
+                .endMetadata()
+                .withNewSpec()
+                .withType("ClusterIP")
+                .withPorts(http, https)
+                .withSelector(labels)
+                .endSpec()
+                .build();
+        client.resource(service).serverSideApply();
+    }
+
+    public void createSecret(String name, Map<String, String> data, Map<String, String> labels) {
+        Secret secret = new SecretBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(getNamespace())
+                .withLabels(labels)
+                .endMetadata()
+                .withStringData(data)
+                .build();
+        client.resource(secret).serverSideApply();
+    }
+
+    public void createConfigMap(String name, Map<String, String> data, Map<String, String> labels) {
+        ConfigMap configMap = new ConfigMapBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(getNamespace())
+                .withLabels(labels)
+                .endMetadata()
+                .withData(data)
+                .build();
+        client.resource(configMap).serverSideApply();
+    }
+
     public Secret getKaravanSecret() {
-        try (KubernetesClient client = kubernetesClient()) {
-            return client.secrets().inNamespace(getNamespace()).withName(properties.secretName()).get();
-        }
+        return client.secrets().inNamespace(getNamespace()).withName(properties.secretName()).get();
     }
 
     public String getKaravanSecret(String key) {
-        try (KubernetesClient client = kubernetesClient()) {
-            Secret secret = client.secrets().inNamespace(getNamespace()).withName(properties.secretName()).get();
-            Map<String, String> data = secret.getData();
-            return decodeSecret(data.get(key));
-        }
+        Secret secret = client.secrets().inNamespace(getNamespace()).withName(properties.secretName()).get();
+        Map<String, String> data = secret.getData();
+        return decodeSecret(data.get(key));
     }
 
     private String decodeSecret(String data) {
@@ -545,11 +651,9 @@ public class KubernetesService {
     }
 
     public String getSecret(String name, String key) {
-        try (KubernetesClient client = kubernetesClient()) {
-            Secret secret = client.secrets().inNamespace(getNamespace()).withName(name).get();
-            Map<String, String> data = secret.getData();
-            return decodeSecret(data.get(key));
-        }
+        Secret secret = client.secrets().inNamespace(getNamespace()).withName(name).get();
+        Map<String, String> data = secret.getData();
+        return decodeSecret(data.get(key));
     }
 
     public boolean isOpenshift() {
@@ -561,9 +665,7 @@ public class KubernetesService {
     }
 
     public Secret getSecret(String name) {
-        try (KubernetesClient client = kubernetesClient()) {
-            return client.secrets().inNamespace(getNamespace()).withName(name).get();
-        }
+        return client.secrets().inNamespace(getNamespace()).withName(name).get();
     }
 
     public void setSecretValue(String secretName, String secretKey, String value) {
@@ -575,9 +677,7 @@ public class KubernetesService {
     }
 
     public void updateSecret(Secret secret) {
-        try (KubernetesClient client = kubernetesClient()) {
-            client.resource(secret).update();
-        }
+        client.resource(secret).update();
     }
 
     public void createSecret(String secretName) {
@@ -597,7 +697,7 @@ public class KubernetesService {
 
     public List<KubernetesSecret> getSecrets() {
         List<KubernetesSecret> result = new ArrayList<>();
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             client.secrets().inNamespace(getNamespace()).list().getItems().forEach(secret -> {
                 Map<String, String> data = new HashMap<>(secret.getData());
                 data.replaceAll((s, s2) -> "");
@@ -612,15 +712,13 @@ public class KubernetesService {
     public void deleteSecret(String secretName) {
         Secret secret = getSecret(secretName);
         if (secret != null) {
-            try (KubernetesClient client = kubernetesClient()) {
-                client.secrets().inNamespace(getNamespace()).withName(secretName).delete();
-            }
+            client.secrets().inNamespace(getNamespace()).withName(secretName).delete();
         }
     }
 
     public List<KubernetesConfigMap> getConfigMaps() {
         List<KubernetesConfigMap> result = new ArrayList<>();
-        try (KubernetesClient client = kubernetesClient()) {
+        try {
             client.configMaps().inNamespace(getNamespace()).list().getItems()
                     .forEach(secret -> result.add(new KubernetesConfigMap(secret.getMetadata().getName(), new HashMap<>(secret.getData()))));
         } catch (Exception e) {
@@ -632,9 +730,7 @@ public class KubernetesService {
     public void deleteConfigMap(String configMapName) {
         ConfigMap configMap = getConfigMap(configMapName);
         if (configMap != null) {
-            try (KubernetesClient client = kubernetesClient()) {
-                client.configMaps().inNamespace(getNamespace()).withName(configMapName).delete();
-            }
+            client.configMaps().inNamespace(getNamespace()).withName(configMapName).delete();
         }
     }
 
@@ -647,15 +743,11 @@ public class KubernetesService {
     }
 
     public ConfigMap getConfigMap(String name) {
-        try (KubernetesClient client = kubernetesClient()) {
-            return client.configMaps().inNamespace(getNamespace()).withName(name).get();
-        }
+        return client.configMaps().inNamespace(getNamespace()).withName(name).get();
     }
 
     public void updateConfigMap(ConfigMap configMap) {
-        try (KubernetesClient client = kubernetesClient()) {
-            client.resource(configMap).update();
-        }
+        client.resource(configMap).update();
     }
 
     public void createConfigMap(String configMapName) {
@@ -674,9 +766,7 @@ public class KubernetesService {
     }
 
     public String getCluster() {
-        try (KubernetesClient client = kubernetesClient()) {
-            return client.getMasterUrl().getHost();
-        }
+        return client.getMasterUrl().getHost();
     }
 
     public String getEnvironment() {
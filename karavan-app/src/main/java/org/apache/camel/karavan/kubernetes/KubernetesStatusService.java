@@ -16,11 +16,11 @@
  */
 package org.apache.camel.karavan.kubernetes;
 
-import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder;
-import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import io.quarkus.runtime.LaunchMode;
 import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
@@ -28,10 +28,10 @@ import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.Default;
-import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanCache;
 import org.apache.camel.karavan.config.KaravanProperties;
 import org.apache.camel.karavan.service.ConfigService;
 import org.eclipse.microprofile.health.HealthCheck;
@@ -40,8 +40,10 @@ import org.eclipse.microprofile.health.Readiness;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Default
@@ -50,11 +52,11 @@ import java.util.Map;
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class KubernetesStatusService implements HealthCheck {
 
-    protected static final int INFORMERS = 3;
-
     private final EventBus eventBus;
     private final KaravanProperties properties;
-    List<SharedIndexInformer> informers = new ArrayList<>(INFORMERS);
+    private final KubernetesClient client;
+    private final KaravanCache karavanCache;
+    private final Map<String, InformerGroup> groups = new ConcurrentHashMap<>();
     private String namespace;
 
     void onStart(@Observes StartupEvent ev) throws Exception {
@@ -66,46 +68,77 @@ public class KubernetesStatusService implements HealthCheck {
     }
 
     public void startInformers() {
-        try {
-            stopInformers();
-            log.info("Starting Kubernetes Informers");
-
-            KubernetesClient client = kubernetesClient();
-
-            SharedIndexInformer<Deployment> deploymentInformer = client.apps().deployments().inNamespace(getNamespace()).inform();
-            deploymentInformer.addEventHandlerWithResyncPeriod(new DeploymentEventHandler(this, eventBus), 30 * 1000L);
-            informers.add(deploymentInformer);
+        stopInformers();
+        var informers = properties.kubernetes().informers();
+        if (informers.isEmpty()) {
+            startGroup(getEnvironment(), null);
+        } else {
+            informers.forEach(this::startGroup);
+        }
+    }
 
-            SharedIndexInformer<Service> serviceInformer = client.services().inNamespace(getNamespace()).inform();
-            serviceInformer.addEventHandlerWithResyncPeriod(new ServiceEventHandler(this, eventBus), 30 * 1000L);
-            informers.add(serviceInformer);
+    public void restartInformers(String env) {
+        var group = groups.remove(env);
+        if (group != null || properties.kubernetes().informers().containsKey(env)) {
+            log.info("Restart Kubernetes Informers for " + env);
+            if (group != null) {
+                group.stop();
+            }
+            karavanCache.clearStatuses(env);
+            startGroup(env, properties.kubernetes().informers().get(env));
+        } else {
+            log.warn("No Kubernetes Informers for " + env);
+        }
+    }
 
-            SharedIndexInformer<Pod> podRunInformer = client.pods().inNamespace(getNamespace()).inform();
-            podRunInformer.addEventHandlerWithResyncPeriod(new PodEventHandler(this, eventBus), 30 * 1000L);
-            informers.add(podRunInformer);
+    private InformerGroup createGroup(String env, KaravanProperties.Kubernetes.Informer config) {
+        long listLimit = properties.kubernetes().listLimit();
+        if (config == null) {
+            return new InformerGroup(env, getNamespace(), client, false, null, listLimit, eventBus, karavanCache);
+        }
+        KubernetesClient groupClient = client;
+        boolean ownClient = false;
+        if (config.context().isPresent()) {
+            Config clientConfig = new ConfigBuilder(Config.autoConfigure(config.context().get()))
+                    .withMaxConcurrentRequests(properties.kubernetes().maxConcurrentRequests())
+                    .withMaxConcurrentRequestsPerHost(properties.kubernetes().maxConcurrentRequestsPerHost())
+                    .build();
+            groupClient = new KubernetesClientBuilder().withConfig(clientConfig).build();
+            ownClient = true;
+        }
+        String groupNamespace = config.namespace().orElse(ownClient ? groupClient.getNamespace() : getNamespace());
+        return new InformerGroup(env, groupNamespace, groupClient, ownClient, config.labelSelector().orElse(null), listLimit, eventBus, karavanCache);
+    }
 
-            log.info("Started Kubernetes Informers");
+    private void startGroup(String env, KaravanProperties.Kubernetes.Informer config) {
+        try {
+            var group = createGroup(env, config);
+            groups.put(env, group);
+            group.start();
         } catch (Exception e) {
-            log.error("Error starting informers: " + e.getMessage());
+            log.error("Error starting informers for " + env + ": " + e.getMessage());
         }
     }
 
     public void stopInformers() {
         log.info("Stop Kubernetes Informers");
-        informers.forEach(SharedIndexInformer::close);
-        informers.clear();
+        groups.values().forEach(InformerGroup::stop);
+        groups.clear();
+    }
+
+    public Map<String, Map<String, Map<String, Long>>> getEventCounters() {
+        Map<String, Map<String, Map<String, Long>>> result = new HashMap<>();
+        groups.forEach((env, group) -> result.put(env, group.getEventCounters()));
+        return result;
     }
 
-    @Produces
-    public KubernetesClient kubernetesClient() {
-        return new KubernetesClientBuilder().build();
+    public List<String> getEnvironments() {
+        return new ArrayList<>(groups.keySet());
     }
 
     public String getNamespace() {
         if (namespace == null) {
-            try (KubernetesClient client = kubernetesClient()) {
-                namespace = LaunchMode.current().getProfileKey().equalsIgnoreCase("dev") ? "karavan" : client.getNamespace();
-            }
+            namespace = LaunchMode.current().getProfileKey().equalsIgnoreCase("dev") ? "karavan" : client.getNamespace();
         }
         return namespace;
     }
@@ -121,7 +154,7 @@ public class KubernetesStatusService implements HealthCheck {
     @Override
     public HealthCheckResponse call() {
         if (ConfigService.inKubernetes()) {
-            if (informers.size() == INFORMERS) {
+            if (!groups.isEmpty() && groups.values().stream().allMatch(InformerGroup::isReady)) {
                 return HealthCheckResponse.named("Kubernetes").up().build();
             } else {
                 return HealthCheckResponse.named("Kubernetes").down().build();
@@ -132,24 +165,11 @@ public class KubernetesStatusService implements HealthCheck {
     }
 
     public Deployment getDeployment(String name) {
-        try (KubernetesClient client = kubernetesClient()) {
-            return client.apps().deployments().inNamespace(getNamespace()).withName(name).get();
-        }
+        return client.apps().deployments().inNamespace(getNamespace()).withName(name).get();
     }
 
     public String getCluster() {
-        try (KubernetesClient client = kubernetesClient()) {
-            return client.getMasterUrl().getHost();
-        }
-    }
-
-    public ResourceRequirements getResourceRequirements(Map<String, String> containerResources) {
-        return new ResourceRequirementsBuilder()
-                .addToRequests("cpu", new Quantity(containerResources.get("requests.cpu")))
-                .addToRequests("memory", new Quantity(containerResources.get("requests.memory")))
-                .addToLimits("cpu", new Quantity(containerResources.get("limits.cpu")))
-                .addToLimits("memory", new Quantity(containerResources.get("limits.memory")))
-                .build();
+        return client.getMasterUrl().getHost();
     }
 
     public String getEnvironment() {
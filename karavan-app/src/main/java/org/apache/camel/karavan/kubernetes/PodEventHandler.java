@@ -23,7 +23,6 @@ import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
-import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +33,7 @@ import org.apache.camel.karavan.model.PodContainerStatus;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.camel.karavan.KaravanConstants.*;
 import static org.apache.camel.karavan.KaravanEvents.POD_CONTAINER_DELETED;
@@ -49,16 +49,19 @@ public class PodEventHandler implements ResourceEventHandler<Pod> {
             "limits.memory", "2048Mi",
             "limits.cpu", "2000m"
     );
-    private final KubernetesStatusService kubernetesStatusService;
+    private final InformerGroup informerGroup;
     private final EventBus eventBus;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
 
     @Override
     public void onAdd(Pod pod) {
         try {
+            processed.incrementAndGet();
             log.info("onAdd " + pod.getMetadata().getName());
             PodContainerStatus ps = getPodStatus(pod);
             if (ps != null) {
-                eventBus.publish(POD_CONTAINER_UPDATED, JsonObject.mapFrom(ps));
+                eventBus.publish(POD_CONTAINER_UPDATED, ps);
             }
         } catch (Exception e) {
             log.error(e.getMessage(), e.getCause());
@@ -68,21 +71,39 @@ public class PodEventHandler implements ResourceEventHandler<Pod> {
     @Override
     public void onUpdate(Pod oldPod, Pod newPod) {
         try {
-            log.info("onUpdate " + newPod.getMetadata().getName());
-            if (!newPod.isMarkedForDeletion() && newPod.getMetadata().getDeletionTimestamp() == null) {
-                PodContainerStatus ps = getPodStatus(newPod);
-                if (ps != null) {
-                    eventBus.publish(POD_CONTAINER_UPDATED, JsonObject.mapFrom(ps));
-                }
+            // a resync restores a status cleared from the cache
+            if (!hasChanged(oldPod, newPod) && hasStatus(newPod)) {
+                suppressed.incrementAndGet();
+                return;
             }
+            processed.incrementAndGet();
+            log.info("onUpdate " + newPod.getMetadata().getName());
+            publish(newPod);
         } catch (Exception e) {
             log.error(e.getMessage(), e.getCause());
         }
     }
 
+    void publish(Pod pod) {
+        if (!pod.isMarkedForDeletion() && pod.getMetadata().getDeletionTimestamp() == null) {
+            PodContainerStatus ps = getPodStatus(pod);
+            if (ps != null) {
+                eventBus.publish(POD_CONTAINER_UPDATED, ps);
+            }
+        }
+    }
+
+    // same project id as getPodStatus, the deployment of a pod is named by its app label
+    private boolean hasStatus(Pod pod) {
+        Map<String, String> labels = pod.getMetadata().getLabels() != null ? pod.getMetadata().getLabels() : Map.of();
+        String projectId = labels.get("app") != null ? labels.get("app") : labels.get(LABEL_PROJECT_ID);
+        return informerGroup.getKaravanCache().getPodContainerStatus(projectId, informerGroup.getEnvironment(), pod.getMetadata().getName()) != null;
+    }
+
     @Override
     public void onDelete(Pod pod, boolean deletedFinalStateUnknown) {
         try {
+            processed.incrementAndGet();
             log.info("onDelete " + pod.getMetadata().getName());
             String deployment = pod.getMetadata().getLabels().get("app");
             String projectId = deployment != null ? deployment : pod.getMetadata().getLabels().get(LABEL_PROJECT_ID);
@@ -90,14 +111,54 @@ public class PodEventHandler implements ResourceEventHandler<Pod> {
             PodContainerStatus cs = new PodContainerStatus();
             cs.setProjectId(projectId);
             cs.setContainerName(pod.getMetadata().getName());
-            cs.setEnv(kubernetesStatusService.getEnvironment());
+            cs.setEnv(informerGroup.getEnvironment());
 
-            eventBus.publish(POD_CONTAINER_DELETED, JsonObject.mapFrom(cs));
+            eventBus.publish(POD_CONTAINER_DELETED, cs);
         } catch (Exception e) {
             log.error(e.getMessage(), e.getCause());
         }
     }
 
+    /**
+     * Resyncs deliver the same resourceVersion, other updates matter only if a field used by PodContainerStatus changed.
+     */
+    static boolean hasChanged(Pod oldPod, Pod newPod) {
+        if (oldPod == null) {
+            return true;
+        }
+        if (Objects.equals(oldPod.getMetadata().getResourceVersion(), newPod.getMetadata().getResourceVersion())) {
+            return false;
+        }
+        return !Objects.equals(oldPod.getMetadata().getLabels(), newPod.getMetadata().getLabels())
+                || !Objects.equals(oldPod.getMetadata().getAnnotations(), newPod.getMetadata().getAnnotations())
+                || !Objects.equals(oldPod.getMetadata().getDeletionTimestamp(), newPod.getMetadata().getDeletionTimestamp())
+                || !Objects.equals(oldPod.getSpec().getContainers(), newPod.getSpec().getContainers())
+                || !Objects.equals(getPhase(oldPod), getPhase(newPod))
+                || !Objects.equals(getPodIP(oldPod), getPodIP(newPod))
+                || isReady(oldPod) != isReady(newPod);
+    }
+
+    // a pod just created or still pending may have no status or no conditions yet
+    private static boolean isReady(Pod pod) {
+        return pod.getStatus() != null && pod.getStatus().getConditions() != null
+                && pod.getStatus().getConditions().stream().anyMatch(c -> Objects.equals(c.getType(), "Ready") && Objects.equals(c.getStatus(), "True"));
+    }
+
+    private static String getPhase(Pod pod) {
+        return pod.getStatus() != null ? pod.getStatus().getPhase() : null;
+    }
+
+    private static String getPodIP(Pod pod) {
+        return pod.getStatus() != null ? pod.getStatus().getPodIP() : null;
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getSuppressed() {
+        return suppressed.get();
+    }
 
     public PodContainerStatus getPodStatus(Pod pod) {
         String appName = pod.getMetadata().getLabels().get("app");
@@ -107,7 +168,7 @@ public class PodEventHandler implements ResourceEventHandler<Pod> {
         String type = pod.getMetadata().getLabels().get(LABEL_TYPE);
         String commit = pod.getMetadata().getAnnotations().get(ANNOTATION_COMMIT);
         if (appName != null) {
-            Deployment deployment = kubernetesStatusService.getDeployment(appName);
+            Deployment deployment = informerGroup.getDeployment(appName);
             projectId = deployment.getMetadata().getName();
             camel = deployment.getMetadata().getLabels().get(LABEL_KUBERNETES_RUNTIME);
             runtime = deployment.getMetadata().getLabels().get(LABEL_CAMEL_RUNTIME);
@@ -116,13 +177,13 @@ public class PodEventHandler implements ResourceEventHandler<Pod> {
         }
         ContainerType containerType = type != null ? ContainerType.valueOf(type) : ContainerType.unknown;
         try {
-            boolean ready = pod.getStatus().getConditions().stream().anyMatch(c -> c.getType().equals("Ready") && c.getStatus().equals("True"));
+            boolean ready = isReady(pod);
             boolean running = Objects.equals(pod.getStatus().getPhase(), "Running");
             boolean failed = Objects.equals(pod.getStatus().getPhase(), "Failed");
             boolean succeeded = Objects.equals(pod.getStatus().getPhase(), "Succeeded");
             String creationTimestamp = pod.getMetadata().getCreationTimestamp();
 
-            ResourceRequirements defaultRR = kubernetesStatusService.getResourceRequirements(DEFAULT_CONTAINER_RESOURCES);
+            ResourceRequirements defaultRR = informerGroup.getResourceRequirements(DEFAULT_CONTAINER_RESOURCES);
             ResourceRequirements resourceRequirements = pod.getSpec().getContainers().stream().findFirst()
                     .orElse(new ContainerBuilder().withResources(defaultRR).build()).getResources();
 
@@ -134,7 +195,7 @@ public class PodEventHandler implements ResourceEventHandler<Pod> {
                     pod.getMetadata().getName(),
                     List.of(PodContainerStatus.Command.delete),
                     projectId,
-                    kubernetesStatusService.getEnvironment(),
+                    informerGroup.getEnvironment(),
                     containerType,
                     requestMemory + " / " + limitMemory,
                     requestCpu + " / " + limitCpu,
@@ -19,13 +19,15 @@ package org.apache.camel.karavan.kubernetes;
 
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
-import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.karavan.model.ServiceStatus;
 
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.apache.camel.karavan.KaravanEvents.SERVICE_DELETED;
 import static org.apache.camel.karavan.KaravanEvents.SERVICE_UPDATED;
 
@@ -33,15 +35,18 @@ import static org.apache.camel.karavan.KaravanEvents.SERVICE_UPDATED;
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class ServiceEventHandler implements ResourceEventHandler<Service> {
 
-    private final KubernetesStatusService kubernetesStatusService;
+    private final InformerGroup informerGroup;
     private final EventBus eventBus;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
 
     @Override
     public void onAdd(Service service) {
         try {
+            processed.incrementAndGet();
             log.info("onAdd " + service.getMetadata().getName());
             ServiceStatus ds = getServiceStatus(service);
-            eventBus.publish(SERVICE_UPDATED, JsonObject.mapFrom(ds));
+            eventBus.publish(SERVICE_UPDATED, ds);
         } catch (Exception e) {
             log.error(e.getMessage());
         }
@@ -50,9 +55,16 @@ public class ServiceEventHandler implements ResourceEventHandler<Service> {
     @Override
     public void onUpdate(Service oldService, Service newService) {
         try {
+            // a resync restores a status cleared from the cache
+            if (!hasChanged(oldService, newService)
+                    && informerGroup.getKaravanCache().getServiceStatus(newService.getMetadata().getName(), informerGroup.getEnvironment()) != null) {
+                suppressed.incrementAndGet();
+                return;
+            }
+            processed.incrementAndGet();
             log.info("onUpdate " + newService.getMetadata().getName());
             ServiceStatus ds = getServiceStatus(newService);
-            eventBus.publish(SERVICE_UPDATED, JsonObject.mapFrom(ds));
+            eventBus.publish(SERVICE_UPDATED, ds);
         } catch (Exception e) {
             log.error(e.getMessage());
         }
@@ -61,25 +73,49 @@ public class ServiceEventHandler implements ResourceEventHandler<Service> {
     @Override
     public void onDelete(Service service, boolean deletedFinalStateUnknown) {
         try {
+            processed.incrementAndGet();
             log.info("onDelete " + service.getMetadata().getName());
             ServiceStatus ds = new ServiceStatus(
                     service.getMetadata().getName(),
                     service.getMetadata().getNamespace(),
-                    kubernetesStatusService.getCluster(),
-                    kubernetesStatusService.getEnvironment());
-            eventBus.publish(SERVICE_DELETED, JsonObject.mapFrom(ds));
+                    informerGroup.getCluster(),
+                    informerGroup.getEnvironment());
+            eventBus.publish(SERVICE_DELETED, ds);
         } catch (Exception e) {
             log.error(e.getMessage());
         }
     }
 
+    /**
+     * Resyncs deliver the same resourceVersion, other updates matter only if ports, cluster IP or type changed.
+     */
+    static boolean hasChanged(Service oldService, Service newService) {
+        if (oldService == null) {
+            return true;
+        }
+        if (Objects.equals(oldService.getMetadata().getResourceVersion(), newService.getMetadata().getResourceVersion())) {
+            return false;
+        }
+        return !Objects.equals(oldService.getSpec().getPorts(), newService.getSpec().getPorts())
+                || !Objects.equals(oldService.getSpec().getClusterIP(), newService.getSpec().getClusterIP())
+                || !Objects.equals(oldService.getSpec().getType(), newService.getSpec().getType());
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+
     public ServiceStatus getServiceStatus(Service service) {
         try {
             return new ServiceStatus(
                     service.getMetadata().getName(),
                     service.getMetadata().getNamespace(),
-                    kubernetesStatusService.getEnvironment(),
-                    kubernetesStatusService.getCluster(),
+                    informerGroup.getEnvironment(),
+                    informerGroup.getCluster(),
                     service.getSpec().getPorts().getFirst().getPort(),
                     service.getSpec().getPorts().getFirst().getTargetPort().getIntVal(),
                     service.getSpec().getClusterIP(),
@@ -90,8 +126,8 @@ public class ServiceEventHandler implements ResourceEventHandler<Service> {
             return new ServiceStatus(
                     service.getMetadata().getName(),
                     service.getMetadata().getNamespace(),
-                    kubernetesStatusService.getCluster(),
-                    kubernetesStatusService.getEnvironment());
+                    informerGroup.getCluster(),
+                    informerGroup.getEnvironment());
         }
     }
 }
\ No newline at end of file
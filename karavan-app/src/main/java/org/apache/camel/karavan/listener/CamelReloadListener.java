@@ -28,6 +28,7 @@ import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.kubernetes.KubernetesService;
 import org.apache.camel.karavan.config.KaravanProperties;
 import org.apache.camel.karavan.model.PodContainerStatus;
@@ -40,12 +41,14 @@ import java.util.concurrent.ExecutionException;
 
 import static org.apache.camel.karavan.KaravanEvents.CMD_RELOAD_PROJECT_CODE;
 import static org.apache.camel.karavan.KaravanEvents.POD_CONTAINER_UPDATED;
+import static org.apache.camel.karavan.KaravanWorkers.Category.COMMAND;
 
 @Slf4j
 @ApplicationScoped
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class CamelReloadListener {
 
+    private final KaravanWorkers workers;
     private final KaravanCache karavanCache;
 
     private final CodeService codeService;
@@ -60,20 +63,23 @@ public class CamelReloadListener {
 
     WebClient webClient;
 
-    @ConsumeEvent(value = CMD_RELOAD_PROJECT_CODE, blocking = true, ordered = true)
+    @ConsumeEvent(value = CMD_RELOAD_PROJECT_CODE)
     void reloadProjectCode(String projectId) {
-        log.debug("Reload project code " + projectId);
-        try {
-            PodContainerStatus podContainerStatus = karavanCache.getDevModePodContainerStatus(projectId, properties.environment());
-            deleteRequest(podContainerStatus);
-            Map<String, String> files = codeService.getProjectFilesForDevMode(projectId, true);
-            files.forEach((name, code) -> putRequest(podContainerStatus, name, code, 1000));
-            reloadRequest(podContainerStatus);
-            podContainerStatus.setCodeLoaded(true);
-            eventBus.publish(POD_CONTAINER_UPDATED, JsonObject.mapFrom(podContainerStatus));
-        } catch (Exception ex) {
-            log.error("ReloadProjectCode " + (ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage()));
-        }
+        workers.execute(COMMAND, () -> {
+            log.debug("Reload project code " + projectId);
+            try {
+                PodContainerStatus podContainerStatus = karavanCache.getDevModePodContainerStatus(projectId, properties.environment());
+                deleteRequest(podContainerStatus);
+                Map<String, String> files = codeService.getProjectFilesForDevMode(projectId, true);
+                files.forEach((name, code) -> putRequest(podContainerStatus, name, code, 1000));
+                reloadRequest(podContainerStatus);
+                var loaded = podContainerStatus.copy();
+                loaded.setCodeLoaded(true);
+                eventBus.publish(POD_CONTAINER_UPDATED, loaded);
+            } catch (Exception ex) {
+                log.error("ReloadProjectCode " + (ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage()));
+            }
+        });
     }
 
     String deleteRequest(PodContainerStatus podContainerStatus) throws Exception {
@@ -27,6 +27,8 @@ import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.KaravanCodecs.CamelStatusRequestCodec;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.config.KaravanProperties;
 import org.apache.camel.karavan.model.*;
 import org.apache.camel.karavan.service.ConfigService;
@@ -38,12 +40,14 @@ import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 
 import static org.apache.camel.karavan.KaravanEvents.CMD_COLLECT_CAMEL_STATUS;
+import static org.apache.camel.karavan.KaravanWorkers.Category.STATISTICS;
 
 @Slf4j
 @ApplicationScoped
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class CamelStatusListener {
 
+    private final KaravanWorkers workers;
     private final KaravanCache karavanCache;
 
     private final KaravanProperties properties;
@@ -52,26 +56,27 @@ public class CamelStatusListener {
 
     WebClient webClient;
 
-    @ConsumeEvent(value = CMD_COLLECT_CAMEL_STATUS, blocking = true, ordered = true)
-    public void collectCamelStatuses(JsonObject data) {
-        try {
-            CamelStatusRequest dms = data.getJsonObject("camelStatusRequest").mapTo(CamelStatusRequest.class);
-            PodContainerStatus containerStatus = data.getJsonObject("containerStatus").mapTo(PodContainerStatus.class);
-            log.debug("Collect Camel Status for " + containerStatus.getContainerName());
-            String projectId = dms.getProjectId();
-            String containerName = dms.getContainerName();
-            List<CamelStatusValue> statuses = new ArrayList<>();
-            for (CamelStatusValue.Name statusName : CamelStatusValue.Name.values()) {
-                String status = getCamelStatus(containerStatus, statusName);
-                if (status != null) {
-                    statuses.add(new CamelStatusValue(statusName, status));
+    @ConsumeEvent(value = CMD_COLLECT_CAMEL_STATUS, codec = CamelStatusRequestCodec.class)
+    public void collectCamelStatuses(CamelStatusRequest dms) {
+        workers.execute(STATISTICS, () -> {
+            try {
+                PodContainerStatus containerStatus = dms.getContainerStatus();
+                log.debug("Collect Camel Status for " + containerStatus.getContainerName());
+                String projectId = dms.getProjectId();
+                String containerName = dms.getContainerName();
+                List<CamelStatusValue> statuses = new ArrayList<>();
+                for (CamelStatusValue.Name statusName : CamelStatusValue.Name.values()) {
+                    String status = getCamelStatus(containerStatus, statusName);
+                    if (status != null) {
+                        statuses.add(new CamelStatusValue(statusName, status));
+                    }
                 }
+                CamelStatus cs = new CamelStatus(projectId, containerName, statuses, properties.environment());
+                karavanCache.saveCamelStatus(cs);
+            } catch (Exception ex) {
+    //            log.warn("collectCamelStatuses " + (ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage()));
             }
-            CamelStatus cs = new CamelStatus(projectId, containerName, statuses, properties.environment());
-            karavanCache.saveCamelStatus(cs);
-        } catch (Exception ex) {
-//            log.warn("collectCamelStatuses " + (ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage()));
-        }
+        });
     }
 
     public String getCamelStatus(PodContainerStatus podContainerStatus, CamelStatusValue.Name statusName) throws Exception {
@@ -18,31 +18,48 @@ package org.apache.camel.karavan.listener;
 
 import io.quarkus.vertx.ConsumeEvent;
 import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.Vertx;
 import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Default;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanWorkers;
+import org.apache.camel.karavan.config.KaravanProperties;
 import org.apache.camel.karavan.model.Project;
 import org.apache.camel.karavan.service.ProjectService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.apache.camel.karavan.KaravanEvents.*;
+import static org.apache.camel.karavan.KaravanWorkers.Category.GIT;
 
+/**
+ * Collects commit requests for a short window and commits them from one clone with a single push.
+ */
 @Slf4j
 @Default
 @ApplicationScoped
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class CommitListener {
 
+    private final Queue<PendingCommit> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private final KaravanWorkers workers;
     private final ProjectService projectService;
+    private final KaravanProperties properties;
 
     private final EventBus eventBus;
+    private final Vertx vertx;
 
-    @ConsumeEvent(value = CMD_PUSH_PROJECT, blocking = true, ordered = true)
-    public void onCommitAndPush(JsonObject event) throws Exception {
+    @ConsumeEvent(value = CMD_PUSH_PROJECT)
+    public void onCommitAndPush(JsonObject event) {
         log.info("Commit event: " + event.encodePrettily());
         String projectId = event.getString("projectId");
         String message = event.getString("message");
@@ -51,22 +68,58 @@ public class CommitListener {
         String authorName = event.getString("authorName");
         String authorEmail = event.getString("authorEmail");
         List<String> fileNames = event.containsKey("fileNames") ? List.of(event.getString("fileNames").split(",")) : List.of();
+        pending.add(new PendingCommit(new ProjectService.CommitRequest(projectId, message, authorName, authorEmail, fileNames), userId, eventId));
+        if (scheduled.compareAndSet(false, true)) {
+            // the window elapses on a timer, the single GIT worker stays free for imports and the previous batch
+            vertx.setTimer(Math.max(1, properties.git().commit().batchWindow().toMillis()), id -> workers.execute(GIT, this::commitPending));
+        }
+    }
+
+    private void commitPending() {
+        // requests added after this point schedule the next batch
+        scheduled.set(false);
+        List<PendingCommit> batch = new ArrayList<>();
+        for (PendingCommit commit; (commit = pending.poll()) != null; ) {
+            batch.add(commit);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
         try {
-            Project p = projectService.commitAndPushProject(projectId, message, authorName, authorEmail, fileNames);
-            if (userId != null) {
-                eventBus.publish(COMMIT_HAPPENED, JsonObject.of("userId", userId, "eventId", eventId, "project", JsonObject.mapFrom(p)));
+            List<ProjectService.CommitResult> results = projectService.commitAndPushProjects(batch.stream().map(PendingCommit::request).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                var result = results.get(i);
+                if (result.project() != null) {
+                    committed(batch.get(i), result.project());
+                } else {
+                    log.error("Failed to commit event: " + result.error());
+                    failed(batch.get(i), result.error());
+                }
             }
         } catch (Exception e) {
             var error = e.getCause() != null ? e.getCause() : e;
             log.error("Failed to commit event", error);
-            if (userId != null) {
-                eventBus.publish(NOTIFICATION_ERROR, JsonObject.of(
-                        "userId", userId,
-                        "eventId", eventId,
-                        "className", Project.class.getSimpleName(),
-                        "error", "Failed to commit event: " + e.getMessage())
-                );
-            }
+            batch.forEach(commit -> failed(commit, e.getMessage()));
         }
     }
+
+    private void committed(PendingCommit commit, Project project) {
+        if (commit.userId() != null) {
+            eventBus.publish(COMMIT_HAPPENED, JsonObject.of("userId", commit.userId(), "eventId", commit.eventId(), "project", JsonObject.mapFrom(project)));
+        }
+    }
+
+    private void failed(PendingCommit commit, String message) {
+        if (commit.userId() != null) {
+            eventBus.publish(NOTIFICATION_ERROR, JsonObject.of(
+                    "userId", commit.userId(),
+                    "eventId", commit.eventId(),
+                    "className", Project.class.getSimpleName(),
+                    "error", "Failed to commit event: " + message)
+            );
+        }
+    }
+
+    private record PendingCommit(ProjectService.CommitRequest request, String userId, String eventId) {
+    }
 }
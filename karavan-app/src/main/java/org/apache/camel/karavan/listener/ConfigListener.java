@@ -24,9 +24,11 @@ import jakarta.enterprise.inject.Default;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.service.ConfigService;
 
 import static org.apache.camel.karavan.KaravanEvents.*;
+import static org.apache.camel.karavan.KaravanWorkers.Category.GIT;
 
 @Slf4j
 @Default
@@ -34,33 +36,36 @@ import static org.apache.camel.karavan.KaravanEvents.*;
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class ConfigListener {
 
+    private final KaravanWorkers workers;
     private final ConfigService configService;
 
     private final EventBus eventBus;
 
-    @ConsumeEvent(value = NOTIFICATION_PROJECTS_STARTED, blocking = true)
-    public void shareOnStartup(String data) throws Exception {
-        configService.shareOnStartup();
+    @ConsumeEvent(value = NOTIFICATION_PROJECTS_STARTED)
+    public void shareOnStartup(String data) {
+        workers.execute(GIT, configService::shareOnStartup);
     }
 
-    @ConsumeEvent(value = CMD_SHARE_CONFIGURATION, blocking = true, ordered = true)
-    public void shareConfig(JsonObject event) throws Exception {
-        String filename = event.getString("filename");
-        String userId = event.getString("userId");
-        log.info("Config share event: for " + (filename != null ? filename : "all"));
-        try {
-            configService.share(filename);
-            eventBus.publish(NOTIFICATION_CONFIG_SHARED, JsonObject.of("userId", userId, "className", "filename", "filename", filename));
-        } catch (Exception e) {
-            var error = e.getCause() != null ? e.getCause() : e;
-            log.error("Failed to share configuration", error);
-            if (userId != null) {
-                eventBus.publish(NOTIFICATION_ERROR, JsonObject.of(
-                        "userId", userId,
-                        "className", filename,
-                        "error", "Failed to share configuration: " + e.getMessage())
-                );
+    @ConsumeEvent(value = CMD_SHARE_CONFIGURATION)
+    public void shareConfig(JsonObject event) {
+        workers.execute(GIT, () -> {
+            String filename = event.getString("filename");
+            String userId = event.getString("userId");
+            log.info("Config share event: for " + (filename != null ? filename : "all"));
+            try {
+                configService.share(filename);
+                eventBus.publish(NOTIFICATION_CONFIG_SHARED, JsonObject.of("userId", userId, "className", "filename", "filename", filename));
+            } catch (Exception e) {
+                var error = e.getCause() != null ? e.getCause() : e;
+                log.error("Failed to share configuration", error);
+                if (userId != null) {
+                    eventBus.publish(NOTIFICATION_ERROR, JsonObject.of(
+                            "userId", userId,
+                            "className", filename,
+                            "error", "Failed to share configuration: " + e.getMessage())
+                    );
+                }
             }
-        }
+        });
     }
 }
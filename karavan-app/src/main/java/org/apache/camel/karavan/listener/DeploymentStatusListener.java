@@ -18,34 +18,39 @@
 package org.apache.camel.karavan.listener;
 
 import io.quarkus.vertx.ConsumeEvent;
-import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.KaravanCodecs.DeploymentStatusCodec;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.model.DeploymentStatus;
 
 import static org.apache.camel.karavan.KaravanEvents.DEPLOYMENT_DELETED;
 import static org.apache.camel.karavan.KaravanEvents.DEPLOYMENT_UPDATED;
+import static org.apache.camel.karavan.KaravanWorkers.Category.STATUS;
 
 @Slf4j
 @ApplicationScoped
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class DeploymentStatusListener {
 
+    private final KaravanWorkers workers;
     private final KaravanCache karavanCache;
 
-    @ConsumeEvent(value = DEPLOYMENT_DELETED, blocking = true, ordered = true)
-    public void cleanDeploymentStatus(JsonObject data) {
-        DeploymentStatus ds = data.mapTo(DeploymentStatus.class);
-        karavanCache.deleteDeploymentStatus(ds);
-        karavanCache.deleteCamelStatuses(ds.getProjectId(), ds.getEnv());
+    @ConsumeEvent(value = DEPLOYMENT_DELETED, codec = DeploymentStatusCodec.class)
+    public void cleanDeploymentStatus(DeploymentStatus ds) {
+        workers.execute(STATUS, () -> {
+            karavanCache.deleteDeploymentStatus(ds);
+            karavanCache.deleteCamelStatuses(ds.getProjectId(), ds.getEnv());
+        });
     }
 
-    @ConsumeEvent(value = DEPLOYMENT_UPDATED, blocking = true, ordered = true)
-    public void saveDeploymentStatus(JsonObject data) {
-        DeploymentStatus ds = data.mapTo(DeploymentStatus.class);
-        karavanCache.saveDeploymentStatus(ds);
+    @ConsumeEvent(value = DEPLOYMENT_UPDATED, codec = DeploymentStatusCodec.class)
+    public void saveDeploymentStatus(DeploymentStatus ds) {
+        workers.execute(STATUS, () -> {
+            karavanCache.saveDeploymentStatus(ds);
+        });
     }
 }
\ No newline at end of file
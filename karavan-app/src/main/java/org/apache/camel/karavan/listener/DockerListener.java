@@ -24,7 +24,18 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanWorkers;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.apache.camel.karavan.docker.DockerComposeConverter;
 import org.apache.camel.karavan.docker.DockerService;
+import org.apache.camel.karavan.model.DockerCompose;
+import org.apache.camel.karavan.model.DockerComposeService;
+import org.apache.camel.karavan.service.ConfigService;
+import org.apache.camel.karavan.service.ProjectService;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
 
 import static org.apache.camel.karavan.KaravanEvents.*;
 
@@ -33,23 +44,52 @@ import static org.apache.camel.karavan.KaravanEvents.*;
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class DockerListener {
 
+    private final KaravanProperties properties;
+    private final KaravanWorkers workers;
     private final DockerService dockerService;
+    private final ProjectService projectService;
 
     private final EventBus eventBus;
 
-    @ConsumeEvent(value = CMD_PULL_IMAGES, blocking = true)
-    void loadImagesForProject(JsonObject event) {
-        log.info("Pull image event: " + event.encodePrettily());
-        String projectId = event.getString("projectId");
-        String userId = event.getString("userId");
+    /**
+     * Pulls the devmode image, also used by builders, and the dev service images before the first container needs them
+     */
+    @ConsumeEvent(value = NOTIFICATION_PROJECTS_STARTED)
+    void prePullImages(String data) {
+        if (ConfigService.inKubernetes() || !properties.docker().pull().prePull()) {
+            return;
+        }
+        Set<String> images = new LinkedHashSet<>();
+        images.add(properties.devmode().image());
         try {
-            dockerService.pullImagesForProject(projectId);
-            eventBus.publish(NOTIFICATION_IMAGES_LOADED, event);
+            String code = projectService.getDockerDevServiceCode();
+            DockerCompose compose = code != null ? DockerComposeConverter.fromCode(code) : null;
+            if (compose != null && compose.getServices() != null) {
+                compose.getServices().values().stream().map(DockerComposeService::getImage).filter(Objects::nonNull).forEach(images::add);
+            }
         } catch (Exception e) {
-            var error = "Failed to load images " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
-            log.error(error);
-            eventBus.publish(NOTIFICATION_ERROR, JsonObject.of("userId", userId, "className", "image", "error", error)
-            );
+            log.error("Error reading dev service images: " + e.getMessage());
         }
+        log.info("Pre-pulling " + images.size() + " image(s)");
+        // DockerPullCoordinator limits concurrent pulls, the shared DOCKER worker would limit them a second time
+        images.forEach(image -> workers.stream("pull " + image, () -> dockerService.pullImageFromDockerHub(image, false)));
+    }
+
+    @ConsumeEvent(value = CMD_PULL_IMAGES)
+    void loadImagesForProject(JsonObject event) {
+        workers.stream("pull images of " + event.getString("projectId"), () -> {
+            log.info("Pull image event: " + event.encodePrettily());
+            String projectId = event.getString("projectId");
+            String userId = event.getString("userId");
+            try {
+                dockerService.pullImagesForProject(projectId);
+                eventBus.publish(NOTIFICATION_IMAGES_LOADED, event);
+            } catch (Exception e) {
+                var error = "Failed to load images " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                log.error(error);
+                eventBus.publish(NOTIFICATION_ERROR, JsonObject.of("userId", userId, "className", "image", "error", error)
+                );
+            }
+        });
     }
 }
\ No newline at end of file
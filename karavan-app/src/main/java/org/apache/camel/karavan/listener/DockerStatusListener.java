@@ -21,13 +21,14 @@ import com.github.dockerjava.api.model.Container;
 import com.github.dockerjava.api.model.Statistics;
 import com.github.dockerjava.core.InvocationBuilder;
 import io.quarkus.vertx.ConsumeEvent;
-import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.KaravanCodecs.PodContainerStatusCodec;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.docker.DockerService;
 import org.apache.camel.karavan.docker.DockerUtils;
 import org.apache.camel.karavan.config.KaravanProperties;
@@ -40,36 +41,36 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.apache.camel.karavan.KaravanEvents.*;
+import static org.apache.camel.karavan.KaravanWorkers.Category.STATISTICS;
+import static org.apache.camel.karavan.KaravanWorkers.Category.STATUS;
 
 @Slf4j
 @ApplicationScoped
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class DockerStatusListener {
 
+    private final KaravanWorkers workers;
     private final KaravanProperties properties;
     private final DockerService dockerService;
     private final KaravanCache karavanCache;
     private final EventBus eventBus;
 
-    @ConsumeEvent(value = CMD_COLLECT_CONTAINER_STATISTIC, blocking = true)
-    void collectContainersStatistics(JsonObject data) {
-        try {
-            if (data == null) {
-                log.warn("Received null data for container statistics collection");
-                return;
-            }
-            PodContainerStatus status = data.mapTo(PodContainerStatus.class);
-            if (status == null) {
-                log.warn("Failed to map data to PodContainerStatus");
-                return;
-            }
-            PodContainerStatus newStatus = getContainerStatistics(status);
-            if (newStatus != null) {
-                eventBus.publish(POD_CONTAINER_UPDATED, JsonObject.mapFrom(newStatus));
+    @ConsumeEvent(value = CMD_COLLECT_CONTAINER_STATISTIC, codec = PodContainerStatusCodec.class)
+    void collectContainersStatistics(PodContainerStatus status) {
+        workers.execute(STATISTICS, () -> {
+            try {
+                if (status == null) {
+                    log.warn("Received null data for container statistics collection");
+                    return;
+                }
+                PodContainerStatus newStatus = getContainerStatistics(status);
+                if (newStatus != null) {
+                    eventBus.publish(POD_CONTAINER_UPDATED, newStatus);
+                }
+            } catch (Exception e) {
+                log.error("Error collecting container statistics", e);
             }
-        } catch (Exception e) {
-            log.error("Error collecting container statistics", e);
-        }
+        });
     }
 
     public PodContainerStatus getContainerStatistics(PodContainerStatus podContainerStatus) {
@@ -117,42 +118,44 @@ public class DockerStatusListener {
         return stats;
     }
 
-    @ConsumeEvent(value = CMD_CLEAN_STATUSES, blocking = true)
+    @ConsumeEvent(value = CMD_CLEAN_STATUSES)
     void cleanContainersStatuses(String data) {
-        try {
-            List<PodContainerStatus> statusesInDocker = getContainersStatuses();
-            if (statusesInDocker == null) {
-                log.warn("Container statuses in Docker is null, skipping cleanup");
-                return;
-            }
+        workers.execute(STATUS, () -> {
+            try {
+                List<PodContainerStatus> statusesInDocker = getContainersStatuses();
+                if (statusesInDocker == null) {
+                    log.warn("Container statuses in Docker is null, skipping cleanup");
+                    return;
+                }
 
-            List<String> namesInDocker = statusesInDocker.stream()
-                    .filter(status -> status != null && status.getContainerName() != null)
-                    .map(PodContainerStatus::getContainerName)
-                    .toList();
+                List<String> namesInDocker = statusesInDocker.stream()
+                        .filter(status -> status != null && status.getContainerName() != null)
+                        .map(PodContainerStatus::getContainerName)
+                        .toList();
 
-            List<PodContainerStatus> statusesInCache = karavanCache.getPodContainerStatuses(properties.environment());
-            if (statusesInCache == null) {
-                log.debug("No container statuses found in cache, skipping cleanup");
-                return;
-            }
+                List<PodContainerStatus> statusesInCache = karavanCache.getPodContainerStatuses(properties.environment());
+                if (statusesInCache == null) {
+                    log.debug("No container statuses found in cache, skipping cleanup");
+                    return;
+                }
 
-            // clean deleted
-            statusesInCache.stream()
-                    .filter(cs -> cs != null)
-                    .filter(cs -> !checkTransit(cs))
-                    .filter(cs -> cs.getContainerName() != null && !namesInDocker.contains(cs.getContainerName()))
-                    .forEach(containerStatus -> {
-                        try {
-                            eventBus.publish(POD_CONTAINER_DELETED, JsonObject.mapFrom(containerStatus));
-                        } catch (Exception e) {
-                            log.error("Error publishing container deleted event for container: {}",
-                                    containerStatus.getContainerName(), e);
-                        }
-                    });
-        } catch (Exception e) {
-            log.error("Error cleaning container statuses", e);
-        }
+                // clean deleted
+                statusesInCache.stream()
+                        .filter(cs -> cs != null)
+                        .filter(cs -> !checkTransit(cs))
+                        .filter(cs -> cs.getContainerName() != null && !namesInDocker.contains(cs.getContainerName()))
+                        .forEach(containerStatus -> {
+                            try {
+                                eventBus.publish(POD_CONTAINER_DELETED, containerStatus);
+                            } catch (Exception e) {
+                                log.error("Error publishing container deleted event for container: {}",
+                                        containerStatus.getContainerName(), e);
+                            }
+                        });
+            } catch (Exception e) {
+                log.error("Error cleaning container statuses", e);
+            }
+        });
     }
 
     public List<PodContainerStatus> getContainersStatuses() {
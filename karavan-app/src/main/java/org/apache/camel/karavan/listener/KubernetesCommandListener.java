@@ -21,21 +21,30 @@ import io.quarkus.vertx.ConsumeEvent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.kubernetes.KubernetesStatusService;
 import org.apache.camel.karavan.service.ConfigService;
 
 import static org.apache.camel.karavan.KaravanEvents.CMD_RESTART_INFORMERS;
+import static org.apache.camel.karavan.KaravanWorkers.Category.COMMAND;
 
 @ApplicationScoped
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class KubernetesCommandListener {
 
+    private final KaravanWorkers workers;
     private final KubernetesStatusService kubernetesStatusService;
 
-    @ConsumeEvent(value = CMD_RESTART_INFORMERS, blocking = true)
-    public void restartInformers(String dummy) {
-        if (ConfigService.inKubernetes()) {
-            kubernetesStatusService.startInformers();
-        }
+    @ConsumeEvent(value = CMD_RESTART_INFORMERS)
+    public void restartInformers(String env) {
+        workers.execute(COMMAND, () -> {
+            if (ConfigService.inKubernetes()) {
+                if (env == null || env.isBlank()) {
+                    kubernetesStatusService.startInformers();
+                } else {
+                    kubernetesStatusService.restartInformers(env);
+                }
+            }
+        });
     }
 }
\ No newline at end of file
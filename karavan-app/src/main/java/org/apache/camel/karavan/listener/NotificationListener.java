@@ -23,17 +23,21 @@ import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.model.Project;
 
 import java.util.UUID;
 
 import static org.apache.camel.karavan.KaravanEvents.*;
+import static org.apache.camel.karavan.KaravanWorkers.Category.NOTIFICATION;
 
 @ApplicationScoped
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class NotificationListener {
 
     public static final String NOTIFICATION_ADDRESS_SYSTEM = "karavanSystem";
+    public static final String NOTIFICATION_ADDRESS_USER = "karavanUser";
+    public static final String NOTIFICATION_HEADER_USER_ID = "userId";
     public static final String NOTIFICATION_HEADER_EVENT_ID = "id";
     public static final String NOTIFICATION_HEADER_EVENT_NAME = "eventName";
     public static final String NOTIFICATION_HEADER_CLASS_NAME = "className";
@@ -42,23 +46,28 @@ public class NotificationListener {
     public static final String EVENT_COMMIT = "commit";
     public static final String EVENT_CONFIG_SHARED = "configShared";
     public static final String EVENT_IMAGES_LOADED = "imagesLoaded";
+    public static final String EVENT_IMAGE_PULL = "imagePull";
 
+    private final KaravanWorkers workers;
     private final EventBus eventBus;
 
-    @ConsumeEvent(value = NOTIFICATION_ERROR, blocking = true, ordered = true)
-    public void onErrorHappened(JsonObject event) throws Exception {
-        String eventId = event.getString("eventId");
-        String userId = event.getString("userId");
-        String className = event.getString("className");
-        if (userId != null) {
-            send(userId, eventId, EVENT_ERROR, className, event);
-        } else {
-            sendSystem(eventId, EVENT_ERROR, className, event);
-        }
+    @ConsumeEvent(value = NOTIFICATION_ERROR)
+    public void onErrorHappened(JsonObject event) {
+        workers.execute(NOTIFICATION, () -> {
+            String eventId = event.getString("eventId");
+            String userId = event.getString("userId");
+            String className = event.getString("className");
+            if (userId != null) {
+                send(userId, eventId, EVENT_ERROR, className, event);
+            } else {
+                sendSystem(eventId, EVENT_ERROR, className, event);
+            }
+        });
     }
 
     void send(String userId, String eventId, String evenName, String className, JsonObject data) {
-        eventBus.publish(userId, data, new DeliveryOptions()
+        eventBus.publish(NOTIFICATION_ADDRESS_USER, data, new DeliveryOptions()
+                .addHeader(NOTIFICATION_HEADER_USER_ID, userId)
                 .addHeader(NOTIFICATION_HEADER_EVENT_ID, eventId != null ? eventId : UUID.randomUUID().toString())
                 .addHeader(NOTIFICATION_HEADER_EVENT_NAME, evenName)
                 .addHeader(NOTIFICATION_HEADER_CLASS_NAME, className)
@@ -73,37 +82,48 @@ public class NotificationListener {
         );
     }
 
-    @ConsumeEvent(value = NOTIFICATION_CONFIG_SHARED, blocking = true, ordered = true)
-    public void onShareHappened(JsonObject event) throws Exception {
-        String userId = event.getString("userId");
-        String className = event.getString("className");
-        if (userId != null) {
-            send(userId, null, EVENT_CONFIG_SHARED, className, event);
-        } else {
-            sendSystem(null, EVENT_CONFIG_SHARED, className, event);
-        }
+    @ConsumeEvent(value = NOTIFICATION_CONFIG_SHARED)
+    public void onShareHappened(JsonObject event) {
+        workers.execute(NOTIFICATION, () -> {
+            String userId = event.getString("userId");
+            String className = event.getString("className");
+            if (userId != null) {
+                send(userId, null, EVENT_CONFIG_SHARED, className, event);
+            } else {
+                sendSystem(null, EVENT_CONFIG_SHARED, className, event);
+            }
+        });
     }
 
-    @ConsumeEvent(value = NOTIFICATION_IMAGES_LOADED, blocking = true, ordered = true)
-    public void onImageLoaded(JsonObject event) throws Exception {
-        String userId = event.getString("userId");
-        if (userId != null) {
-            send(userId, null, EVENT_IMAGES_LOADED, "image", event);
-        } else {
-            sendSystem(null, EVENT_IMAGES_LOADED, "image", event);
-        }
+    @ConsumeEvent(value = NOTIFICATION_IMAGES_LOADED)
+    public void onImageLoaded(JsonObject event) {
+        workers.execute(NOTIFICATION, () -> {
+            String userId = event.getString("userId");
+            if (userId != null) {
+                send(userId, null, EVENT_IMAGES_LOADED, "image", event);
+            } else {
+                sendSystem(null, EVENT_IMAGES_LOADED, "image", event);
+            }
+        });
     }
 
-    @ConsumeEvent(value = COMMIT_HAPPENED, blocking = true, ordered = true)
-    public void onCommitHappened(JsonObject event) throws Exception {
-        JsonObject pj = event.getJsonObject("project");
-        Project p = pj.mapTo(Project.class);
-        String eventId = event.getString("eventId");
-        String userId = event.getString("userId");
-        if (userId != null) {
-            send(userId, eventId, EVENT_COMMIT, Project.class.getSimpleName(), JsonObject.mapFrom(p));
-        } else {
-            sendSystem(eventId, EVENT_COMMIT, Project.class.getSimpleName(), JsonObject.mapFrom(p));
-        }
+    @ConsumeEvent(value = IMAGE_PULL_UPDATED)
+    public void onImagePullUpdated(JsonObject event) {
+        workers.execute(NOTIFICATION, () -> sendSystem(null, EVENT_IMAGE_PULL, "image", event));
+    }
+
+    @ConsumeEvent(value = COMMIT_HAPPENED)
+    public void onCommitHappened(JsonObject event) {
+        workers.execute(NOTIFICATION, () -> {
+            JsonObject pj = event.getJsonObject("project");
+            Project p = pj.mapTo(Project.class);
+            String eventId = event.getString("eventId");
+            String userId = event.getString("userId");
+            if (userId != null) {
+                send(userId, eventId, EVENT_COMMIT, Project.class.getSimpleName(), JsonObject.mapFrom(p));
+            } else {
+                sendSystem(eventId, EVENT_COMMIT, Project.class.getSimpleName(), JsonObject.mapFrom(p));
+            }
+        });
     }
 }
\ No newline at end of file
@@ -18,12 +18,12 @@
 package org.apache.camel.karavan.listener;
 
 import io.quarkus.vertx.ConsumeEvent;
-import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.docker.DockerService;
 import org.apache.camel.karavan.kubernetes.KubernetesService;
 import org.apache.camel.karavan.model.ContainerType;
@@ -33,11 +33,13 @@ import org.apache.camel.karavan.service.ConfigService;
 
 import static org.apache.camel.karavan.KaravanEvents.CMD_DELETE_CONTAINER;
 import static org.apache.camel.karavan.KaravanEvents.POD_CONTAINER_UPDATED;
+import static org.apache.camel.karavan.KaravanWorkers.Category.COMMAND;
 
 @ApplicationScoped
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class PodContainerCommandListener {
 
+    private final KaravanWorkers workers;
     private final KaravanProperties properties;
 
     private final KaravanCache karavanCache;
@@ -45,22 +47,26 @@ public class PodContainerCommandListener {
     private final DockerService dockerService;
     private final EventBus eventBus;
 
-    @ConsumeEvent(value = CMD_DELETE_CONTAINER, blocking = true)
+    @ConsumeEvent(value = CMD_DELETE_CONTAINER)
     public void deletePodContainer(String projectId) {
-        setContainerStatusTransit(projectId, ContainerType.devmode.name());
-        if (ConfigService.inKubernetes()) {
-            kubernetesService.deletePodAndService(projectId, false);
-        } else {
-            dockerService.deleteContainer(projectId);
-        }
+        workers.execute(COMMAND, () -> {
+            setContainerStatusTransit(projectId, ContainerType.devmode.name());
+            if (ConfigService.inKubernetes()) {
+                kubernetesService.deletePodAndService(projectId, false);
+            } else {
+                dockerService.deleteContainer(projectId);
+            }
+        });
     }
 
     private void setContainerStatusTransit(String name, String type) {
         PodContainerStatus status = karavanCache.getPodContainerStatus(name, properties.environment(), name);
-        if (status == null) {
+        if (status != null) {
+            status = status.copy();
+        } else {
             status = PodContainerStatus.createByType(name, properties.environment(), ContainerType.valueOf(type));
         }
         status.setInTransit(true);
-        eventBus.publish(POD_CONTAINER_UPDATED, JsonObject.mapFrom(status));
+        eventBus.publish(POD_CONTAINER_UPDATED, status);
     }
 }
\ No newline at end of file
@@ -18,11 +18,12 @@
 package org.apache.camel.karavan.listener;
 
 import io.quarkus.vertx.ConsumeEvent;
-import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.KaravanCodecs.PodContainerStatusCodec;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.model.PodContainerStatus;
 
 import java.time.Instant;
@@ -30,34 +31,38 @@ import java.util.Objects;
 
 import static org.apache.camel.karavan.KaravanEvents.POD_CONTAINER_DELETED;
 import static org.apache.camel.karavan.KaravanEvents.POD_CONTAINER_UPDATED;
+import static org.apache.camel.karavan.KaravanWorkers.Category.STATUS;
 
 @ApplicationScoped
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class PodContainerStatusListener {
 
+    private final KaravanWorkers workers;
     private final KaravanCache karavanCache;
 
-    @ConsumeEvent(value = POD_CONTAINER_DELETED, blocking = true, ordered = true)
-    public void cleanContainersStatus(JsonObject data) {
-        PodContainerStatus containerStatus = data.mapTo(PodContainerStatus.class);
-        karavanCache.deletePodContainerStatus(containerStatus);
-        karavanCache.deleteCamelStatuses(containerStatus.getProjectId(), containerStatus.getEnv());
+    @ConsumeEvent(value = POD_CONTAINER_DELETED, codec = PodContainerStatusCodec.class)
+    public void cleanContainersStatus(PodContainerStatus containerStatus) {
+        workers.execute(STATUS, () -> {
+            karavanCache.deletePodContainerStatus(containerStatus);
+            karavanCache.deleteCamelStatuses(containerStatus.getProjectId(), containerStatus.getEnv());
+        });
     }
 
-    @ConsumeEvent(value = POD_CONTAINER_UPDATED, blocking = true, ordered = true)
-    public void savePodContainerStatus(JsonObject data) {
-        PodContainerStatus newStatus = data.mapTo(PodContainerStatus.class);
-        PodContainerStatus oldStatus = karavanCache.getPodContainerStatus(newStatus.getProjectId(), newStatus.getEnv(), newStatus.getContainerName());
+    @ConsumeEvent(value = POD_CONTAINER_UPDATED, codec = PodContainerStatusCodec.class)
+    public void savePodContainerStatus(PodContainerStatus newStatus) {
+        workers.execute(STATUS, () -> {
+            PodContainerStatus oldStatus = karavanCache.getPodContainerStatus(newStatus.getProjectId(), newStatus.getEnv(), newStatus.getContainerName());
 
-        if (oldStatus == null) {
-            karavanCache.savePodContainerStatus(newStatus);
-        } else if (Objects.equals(oldStatus.getInTransit(), Boolean.FALSE)) {
-            savePodContainerStatus(newStatus, oldStatus);
-        } else if (Objects.equals(oldStatus.getInTransit(), Boolean.TRUE)) {
-            if (!Objects.equals(oldStatus.getState(), newStatus.getState()) || newStatus.getCpuInfo() == null || newStatus.getCpuInfo().isEmpty()) {
+            if (oldStatus == null) {
+                karavanCache.savePodContainerStatus(newStatus);
+            } else if (Objects.equals(oldStatus.getInTransit(), Boolean.FALSE)) {
                 savePodContainerStatus(newStatus, oldStatus);
+            } else if (Objects.equals(oldStatus.getInTransit(), Boolean.TRUE)) {
+                if (!Objects.equals(oldStatus.getState(), newStatus.getState()) || newStatus.getCpuInfo() == null || newStatus.getCpuInfo().isEmpty()) {
+                    savePodContainerStatus(newStatus, oldStatus);
+                }
             }
-        }
+        });
     }
 
     private void savePodContainerStatus(PodContainerStatus newStatus, PodContainerStatus oldStatus) {
@@ -18,31 +18,36 @@
 package org.apache.camel.karavan.listener;
 
 import io.quarkus.vertx.ConsumeEvent;
-import io.vertx.core.json.JsonObject;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
 import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.KaravanCodecs.ServiceStatusCodec;
+import org.apache.camel.karavan.KaravanWorkers;
 import org.apache.camel.karavan.model.ServiceStatus;
 
 import static org.apache.camel.karavan.KaravanEvents.SERVICE_DELETED;
 import static org.apache.camel.karavan.KaravanEvents.SERVICE_UPDATED;
+import static org.apache.camel.karavan.KaravanWorkers.Category.STATUS;
 
 @ApplicationScoped
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class ServiceStatusListener {
 
+    private final KaravanWorkers workers;
     private final KaravanCache karavanCache;
 
-    @ConsumeEvent(value = SERVICE_DELETED, blocking = true, ordered = true)
-    public void cleanServiceStatus(JsonObject data) {
-        ServiceStatus ds = data.mapTo(ServiceStatus.class);
-        karavanCache.deleteServiceStatus(ds);
+    @ConsumeEvent(value = SERVICE_DELETED, codec = ServiceStatusCodec.class)
+    public void cleanServiceStatus(ServiceStatus ds) {
+        workers.execute(STATUS, () -> {
+            karavanCache.deleteServiceStatus(ds);
+        });
     }
 
-    @ConsumeEvent(value = SERVICE_UPDATED, blocking = true, ordered = true)
-    public void saveServiceStatus(JsonObject data) {
-        ServiceStatus ds = data.mapTo(ServiceStatus.class);
-        karavanCache.saveServiceStatus(ds);
+    @ConsumeEvent(value = SERVICE_UPDATED, codec = ServiceStatusCodec.class)
+    public void saveServiceStatus(ServiceStatus ds) {
+        workers.execute(STATUS, () -> {
+            karavanCache.saveServiceStatus(ds);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Schema(description = "Build of a project waiting in the build queue or running")
+public class BuildQueueItem {
+
+    @Schema(description = "The unique identifier of the project", example = "my-camel-project")
+    private String projectId;
+
+    @Schema(description = "Image tag of the build, empty for a generated tag", example = "2025-11-07T10-30-00")
+    private String tag;
+
+    @Schema(description = "Priority of the build, higher builds start first", example = "0")
+    private Integer priority;
+
+    @Schema(description = "State of the build in the queue (queued, running, finished, reused, cancelled)", example = "queued")
+    private String state;
+
+    @Schema(description = "Position in the queue starting at 1, 0 if the build is not queued", example = "3")
+    private Integer position;
+
+    @Schema(description = "Timestamp when the build was submitted in milliseconds", example = "1699564800000")
+    private Long submitted;
+
+    @Schema(description = "Timestamp when the build was started in milliseconds", example = "1699564860000")
+    private Long started;
+
+    @Schema(description = "Timestamp when the build finished or was reused in milliseconds", example = "1699565040000")
+    private Long finished;
+
+    @Schema(description = "Time from start to finish in milliseconds", example = "180000")
+    private Long duration;
+
+    @Schema(description = "Tag of the image built before from the same sources, set when the build was reused", example = "2025-11-06T08-15-00")
+    private String reusedTag;
+}
@@ -34,4 +34,7 @@ public class CamelStatusRequest {
 
     @Schema(description = "The name of the container to query status for", example = "camel-container-1", required = true)
     private String containerName;
+
+    @Schema(description = "Status of the container to query")
+    private PodContainerStatus containerStatus;
 }
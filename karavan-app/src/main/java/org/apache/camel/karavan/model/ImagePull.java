@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Schema(description = "Pull of a container image by the Docker host")
+public class ImagePull {
+
+    @Schema(description = "Image reference being pulled", example = "ghcr.io/apache/camel-karavan-devmode:4.14.2")
+    private String image;
+
+    @Schema(description = "State of the pull (queued, pulling, pulled, failed)", example = "pulling")
+    private String state;
+
+    @Schema(description = "Bytes of layers downloaded so far", example = "52428800")
+    private Long current;
+
+    @Schema(description = "Bytes of layers to download, known once the layers started downloading", example = "209715200")
+    private Long total;
+
+    @Schema(description = "Number of layers reported so far", example = "12")
+    private Integer layers;
+
+    @Schema(description = "Timestamp when the pull was requested in milliseconds", example = "1699564800000")
+    private Long submitted;
+
+    @Schema(description = "Timestamp when the pull started in milliseconds", example = "1699564801000")
+    private Long started;
+
+    @Schema(description = "Timestamp when the pull finished in milliseconds", example = "1699564860000")
+    private Long finished;
+
+    @Schema(description = "Error message of a failed pull")
+    private String error;
+}
@@ -48,6 +48,9 @@ public class ProjectCommit {
     @Schema(description = "Commit message", example = "Add new route for processing orders")
     private String message;
 
+    @Schema(description = "Commit timestamp in milliseconds since epoch", example = "1699876543000")
+    private Long commitTimestamp;
+
     @Schema(description = "List of file changes (diffs) in this commit")
     @Builder.Default
     private List<ProjectFileCommitDiff> diffs = new ArrayList<>();
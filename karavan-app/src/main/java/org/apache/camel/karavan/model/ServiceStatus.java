@@ -60,4 +60,8 @@ public class ServiceStatus {
         this.env = env;
         this.cluster = cluster;
     }
+
+    public ServiceStatus copy() {
+        return toBuilder().build();
+    }
 }
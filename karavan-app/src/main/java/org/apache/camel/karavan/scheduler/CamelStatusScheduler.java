@@ -17,7 +17,6 @@
 package org.apache.camel.karavan.scheduler;
 
 import io.quarkus.scheduler.Scheduled;
-import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -30,7 +29,6 @@ import org.apache.camel.karavan.model.ContainerType;
 import org.apache.camel.karavan.config.KaravanProperties;
 import org.apache.camel.karavan.service.ConfigService;
 
-import java.util.Map;
 import java.util.Objects;
 
 import static org.apache.camel.karavan.KaravanConstants.CAMEL_PREFIX;
@@ -57,20 +55,14 @@ public class CamelStatusScheduler {
                     .filter(cs -> Objects.equals(cs.getType(), ContainerType.devmode) || Objects.equals(cs.getType(), ContainerType.packaged))
                     .filter(cs -> Objects.equals(cs.getCamelRuntime(), KaravanConstants.CamelRuntime.CAMEL_MAIN.getValue()))
                     .forEach(cs -> {
-                        CamelStatusRequest csr = new CamelStatusRequest(cs.getProjectId(), cs.getContainerName());
-                        eventBus.publish(CMD_COLLECT_CAMEL_STATUS,
-                                JsonObject.mapFrom(Map.of("containerStatus", cs, "camelStatusRequest", csr))
-                        );
+                        eventBus.publish(CMD_COLLECT_CAMEL_STATUS, new CamelStatusRequest(cs.getProjectId(), cs.getContainerName(), cs));
                     });
         } else {
             karavanCache.getPodContainerStatuses(properties.environment()).stream()
                     .filter(cs -> Objects.equals(cs.getCamelRuntime(), KaravanConstants.CamelRuntime.CAMEL_MAIN.getValue()))
                     .filter(cs -> Objects.equals(cs.getType(), ContainerType.devmode) || Objects.equals(cs.getType(), ContainerType.packaged))
                     .forEach(cs -> {
-                        CamelStatusRequest csr = new CamelStatusRequest(cs.getProjectId(), cs.getContainerName());
-                        eventBus.publish(CMD_COLLECT_CAMEL_STATUS,
-                                JsonObject.mapFrom(Map.of("containerStatus", cs, "camelStatusRequest", csr))
-                        );
+                        eventBus.publish(CMD_COLLECT_CAMEL_STATUS, new CamelStatusRequest(cs.getProjectId(), cs.getContainerName(), cs));
                     });
         }
     }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.scheduler;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.config.KaravanProperties;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class ColdFilesScheduler {
+
+    private final KaravanCache karavanCache;
+
+    private final KaravanProperties properties;
+
+    @Scheduled(every = "{karavan.cache.cold.interval:10m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void freezeIdleFiles() {
+        var cold = properties.cache().cold();
+        if (cold.enabled()) {
+            int count = karavanCache.freezeFiles(cold.idleTime());
+            if (count > 0) {
+                log.info("Moved " + count + " idle file bodies off-heap");
+            }
+        }
+    }
+}
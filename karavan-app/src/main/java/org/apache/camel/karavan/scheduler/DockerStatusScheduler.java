@@ -18,7 +18,6 @@
 package org.apache.camel.karavan.scheduler;
 
 import io.quarkus.scheduler.Scheduled;
-import io.vertx.core.json.JsonObject;
 import io.vertx.mutiny.core.eventbus.EventBus;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -49,7 +48,7 @@ public class DockerStatusScheduler {
         if (!ConfigService.inKubernetes()) {
             List<PodContainerStatus> statusesInDocker = getContainersStatuses();
             statusesInDocker.forEach(containerStatus -> {
-                eventBus.publish(CMD_COLLECT_CONTAINER_STATISTIC, JsonObject.mapFrom(containerStatus));
+                eventBus.publish(CMD_COLLECT_CONTAINER_STATISTIC, containerStatus);
             });
         }
     }
@@ -68,7 +67,7 @@ public class DockerStatusScheduler {
         if (!ConfigService.inKubernetes()) {
             List<PodContainerStatus> statusesInDocker = getContainersStatuses();
             statusesInDocker.forEach(containerStatus -> {
-                eventBus.publish(POD_CONTAINER_UPDATED, JsonObject.mapFrom(containerStatus));
+                eventBus.publish(POD_CONTAINER_UPDATED, containerStatus);
             });
             eventBus.publish(CMD_CLEAN_STATUSES, "");
         }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.scheduler;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanWorkers;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.apache.camel.karavan.service.GitSyncService;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apache.camel.karavan.KaravanWorkers.Category.GIT;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class GitSyncScheduler {
+
+    private final AtomicBoolean queued = new AtomicBoolean(false);
+
+    private final GitSyncService gitSyncService;
+    private final KaravanWorkers workers;
+
+    private final KaravanProperties properties;
+
+    // runs on the git worker, so a sync never overlaps a commit
+    @Scheduled(every = "{karavan.git.sync.interval:1m}", delayed = "{karavan.git.sync.interval:1m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void syncRepository() {
+        if (properties.git().sync().enabled() && !properties.git().ephemeral() && queued.compareAndSet(false, true)) {
+            workers.execute(GIT, () -> {
+                try {
+                    gitSyncService.sync();
+                } finally {
+                    queued.set(false);
+                }
+            });
+        }
+    }
+}
@@ -21,7 +21,9 @@ import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.RequiredArgsConstructor;
+import org.apache.camel.karavan.service.NotificationHub;
 import org.apache.camel.karavan.service.NotificationService;
+import org.apache.camel.karavan.service.ProjectChangeService;
 import org.jboss.resteasy.reactive.server.jaxrs.OutboundSseEventImpl;
 
 
@@ -30,9 +32,13 @@ import org.jboss.resteasy.reactive.server.jaxrs.OutboundSseEventImpl;
 public class NotificationPingScheduler {
 
     private final NotificationService notificationService;
+    private final NotificationHub notificationHub;
+    private final ProjectChangeService projectChangeService;
 
     @Scheduled(every = "30s", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void ping() {
+        notificationHub.ping();
+        projectChangeService.ping();
         notificationService.getSinks().forEach(sink -> {
             if (!sink.isClosed()) {
                 sink.send(new OutboundSseEventImpl.BuilderImpl().name("ping").data(String.class, "ping").build());
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.apache.camel.karavan.docker.DockerService;
+import org.apache.camel.karavan.kubernetes.KubernetesService;
+import org.apache.camel.karavan.model.Project;
+import org.apache.camel.karavan.model.ProjectFile;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.apache.camel.karavan.KaravanConstants.BUILDER_SUFFIX;
+
+/**
+ * Index of built images by a content hash of the project, a build of unchanged sources reuses the image built before.
+ * The hash covers the committed files of the project and of the kamelets, the build script, the builder configuration and
+ * the devmode image. Builders clone the repository, so uncommitted changes are not part of a build and not of the hash.
+ * The index is kept in the cache state folder and survives restarts.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class BuildCacheService {
+
+    private static final String INDEX_FILE = "build-index.json";
+    // images kept in the index per project, the oldest is dropped first
+    private static final int MAX_ENTRIES = 10;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Map<String, List<Entry>> index = new HashMap<>();
+
+    private final KaravanProperties properties;
+    private final KaravanCache karavanCache;
+    private final CodeService codeService;
+    private final RegistryService registryService;
+    private final DockerService dockerService;
+    private final KubernetesService kubernetesService;
+
+    /**
+     * @param duration build time in milliseconds
+     */
+    public record Entry(String hash, String tag, long built, long duration) {
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        if (properties.builder().cache().enabled()) {
+            load();
+        }
+    }
+
+    public String getHash(String projectId) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, properties.devmode().image());
+        update(digest, codeService.getBuilderScript());
+        update(digest, ConfigService.inKubernetes() ? codeService.getBuilderPodFragment() : codeService.getBuilderComposeFragment(projectId, ""));
+        for (String id : List.of(projectId, Project.Type.kamelets.name())) {
+            update(digest, id);
+            karavanCache.getProjectFilesCommited(id).stream()
+                    .sorted(Comparator.comparing(ProjectFile::getName))
+                    .forEach(file -> {
+                        update(digest, file.getName());
+                        update(digest, file.getCode());
+                    });
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // values are terminated, so moving text from one value to the next changes the hash
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    public synchronized Entry find(String projectId, String hash) {
+        return index.getOrDefault(projectId, List.of()).stream()
+                .filter(entry -> Objects.equals(entry.hash(), hash))
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Makes the image of the entry available under the requested tag instead of building it
+     *
+     * @param tag requested tag, empty to take the tag of the entry
+     * @return tag of the reused image, null if the project has to be built
+     */
+    public String reuse(String projectId, Entry entry, String tag) {
+        boolean sameTag = tag == null || tag.isBlank() || Objects.equals(tag, entry.tag());
+        if (ConfigService.inKubernetes()) {
+            // builds also apply the deployment, a build is skipped only while the deployment runs the image
+            String image = kubernetesService.getDeploymentImage(projectId);
+            return sameTag && image != null && image.endsWith("/" + projectId + ":" + entry.tag()) ? entry.tag() : null;
+        }
+        String repository = registryService.getRegistryWithGroupForSync() + "/" + projectId;
+        String image = repository + ":" + entry.tag();
+        try {
+            if (sameTag) {
+                // the index outlives pruned images, a pull fails if the image is neither local nor in the registry
+                dockerService.pullImage(image, false);
+                return entry.tag();
+            }
+            dockerService.tagAndPushImage(image, repository, tag);
+            return tag;
+        } catch (Exception e) {
+            log.error("Error reusing " + image + (sameTag ? "" : " as " + tag) + ": " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+            remove(projectId, entry.hash());
+            return null;
+        }
+    }
+
+    /**
+     * Adds the image to the index if the builder container (or pod) of the project exited successfully
+     */
+    public void built(String projectId, String hash, String tag, long duration) {
+        String builder = projectId + BUILDER_SUFFIX;
+        Long exitCode = ConfigService.inKubernetes() ? kubernetesService.getExitCode(builder) : dockerService.getExitCode(builder);
+        if (!Objects.equals(exitCode, 0L)) {
+            return;
+        }
+        synchronized (this) {
+            List<Entry> entries = index.computeIfAbsent(projectId, k -> new ArrayList<>());
+            entries.removeIf(entry -> Objects.equals(entry.hash(), hash) || Objects.equals(entry.tag(), tag));
+            entries.addFirst(new Entry(hash, tag, System.currentTimeMillis(), duration));
+            while (entries.size() > MAX_ENTRIES) {
+                entries.removeLast();
+            }
+            save();
+        }
+    }
+
+    private synchronized void remove(String projectId, String hash) {
+        List<Entry> entries = index.get(projectId);
+        if (entries != null && entries.removeIf(entry -> Objects.equals(entry.hash(), hash))) {
+            save();
+        }
+    }
+
+    private synchronized void load() {
+        File file = Paths.get(properties.cache().statePath(), INDEX_FILE).toFile();
+        if (file.exists()) {
+            try {
+                index = mapper.readValue(file, new TypeReference<HashMap<String, List<Entry>>>() {
+                });
+                index.replaceAll((projectId, entries) -> new ArrayList<>(entries));
+                log.info("Build index loaded with " + index.size() + " project(s)");
+            } catch (Exception e) {
+                log.error("Error loading build index: " + e.getMessage());
+            }
+        }
+    }
+
+    private void save() {
+        try {
+            Path folder = Paths.get(properties.cache().statePath());
+            Files.createDirectories(folder);
+            Path temp = folder.resolve(INDEX_FILE + ".tmp");
+            mapper.writeValue(temp.toFile(), index);
+            Files.move(temp, folder.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.error("Error saving build index: " + e.getMessage());
+        }
+    }
+}
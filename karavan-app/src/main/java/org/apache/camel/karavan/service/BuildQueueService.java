@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.quarkus.scheduler.Scheduled;
+import io.quarkus.vertx.ConsumeEvent;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.eventbus.EventBus;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanCodecs.PodContainerStatusCodec;
+import org.apache.camel.karavan.KaravanWorkers;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.apache.camel.karavan.model.BuildQueueItem;
+import org.apache.camel.karavan.model.ContainerType;
+import org.apache.camel.karavan.model.PodContainerStatus;
+import org.apache.camel.karavan.model.Project;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.apache.camel.karavan.KaravanConstants.BUILDER_SUFFIX;
+import static org.apache.camel.karavan.KaravanEvents.*;
+import static org.apache.camel.karavan.KaravanWorkers.Category.COMMAND;
+
+/**
+ * Starts project builds from a priority queue, so a burst of builds does not start all builder containers at once.
+ * At most max-concurrent builds run together and a project runs one build at a time, its builder container has a fixed name.
+ * A build submitted while the same project is still queued replaces the queued one instead of queueing twice.
+ * A slot is freed when the builder container exits or is deleted, or after the build timeout.
+ * A build whose sources match an image built before reuses that image instead of starting a builder container.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class BuildQueueService {
+
+    public static final String QUEUED = "queued";
+    public static final String RUNNING = "running";
+    public static final String FINISHED = "finished";
+    public static final String REUSED = "reused";
+    public static final String CANCELLED = "cancelled";
+
+    // a builder container that never showed up within this time did not start
+    private static final long START_TIMEOUT = 5 * 60_000;
+    private static final Comparator<PendingBuild> ORDER = Comparator.comparingInt((PendingBuild build) -> -build.priority)
+            .thenComparingLong(build -> build.sequence);
+
+    private final List<PendingBuild> queue = new ArrayList<>();
+    private final Map<String, RunningBuild> running = new HashMap<>();
+    private long sequence = 0;
+
+    private final KaravanProperties properties;
+    private final ProjectService projectService;
+    private final BuildCacheService buildCacheService;
+    private final KaravanWorkers workers;
+    private final EventBus eventBus;
+
+    private static final class PendingBuild {
+        private final long sequence;
+        private final long submitted;
+        private Project project;
+        private String tag;
+        private int priority;
+        // builds even if an image of the same sources exists
+        private boolean force;
+
+        PendingBuild(long sequence, Project project, String tag, int priority, boolean force) {
+            this.sequence = sequence;
+            this.submitted = System.currentTimeMillis();
+            this.project = project;
+            this.tag = tag;
+            this.priority = priority;
+            this.force = force;
+        }
+    }
+
+    private static final class RunningBuild {
+        private final PendingBuild build;
+        private final long started = System.currentTimeMillis();
+        // the builder container of this build was reported, events of the previous container are ignored until then
+        private boolean seen = false;
+        // content hash and resolved tag, set when the builder container is started
+        private volatile String hash;
+        private volatile String tag;
+
+        RunningBuild(PendingBuild build) {
+            this.build = build;
+        }
+    }
+
+    /**
+     * Queues a build of the project, a queued build of the same project takes the new tag and the higher priority
+     */
+    public synchronized BuildQueueItem submit(Project project, String tag, int priority, boolean force) {
+        String projectId = project.getProjectId();
+        PendingBuild pending = queue.stream().filter(build -> Objects.equals(build.project.getProjectId(), projectId)).findFirst().orElse(null);
+        if (pending != null) {
+            log.info("Build of " + projectId + " is already queued, updating it");
+            pending.project = project;
+            pending.tag = tag;
+            pending.priority = Math.max(pending.priority, priority);
+            pending.force = pending.force || force;
+        } else {
+            pending = new PendingBuild(sequence++, project, tag, priority, force);
+            queue.add(pending);
+        }
+        queue.sort(ORDER);
+        dispatch();
+        publishQueue();
+        return getItem(projectId);
+    }
+
+    /**
+     * Removes the queued build of the project, a running build is stopped by deleting its builder container
+     *
+     * @return false if the project has no queued build
+     */
+    public synchronized boolean cancel(String projectId) {
+        for (PendingBuild build : queue) {
+            if (Objects.equals(build.project.getProjectId(), projectId)) {
+                queue.remove(build);
+                publish(toItem(build, CANCELLED, 0, null).toBuilder().finished(System.currentTimeMillis()).build());
+                publishQueue();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized List<BuildQueueItem> getItems() {
+        List<BuildQueueItem> items = new ArrayList<>(running.size() + queue.size());
+        running.values().forEach(build -> items.add(toItem(build.build, RUNNING, 0, build.started)));
+        for (int i = 0; i < queue.size(); i++) {
+            items.add(toItem(queue.get(i), QUEUED, i + 1, null));
+        }
+        return items;
+    }
+
+    public synchronized BuildQueueItem getItem(String projectId) {
+        RunningBuild build = running.get(projectId);
+        if (build != null) {
+            return toItem(build.build, RUNNING, 0, build.started);
+        }
+        for (int i = 0; i < queue.size(); i++) {
+            if (Objects.equals(queue.get(i).project.getProjectId(), projectId)) {
+                return toItem(queue.get(i), QUEUED, i + 1, null);
+            }
+        }
+        return null;
+    }
+
+    // starts queued builds in order while slots are free, builds of a project that is still building wait
+    private void dispatch() {
+        int maxConcurrent = Math.max(1, properties.builder().queue().maxConcurrent());
+        var iterator = queue.iterator();
+        while (running.size() < maxConcurrent && iterator.hasNext()) {
+            PendingBuild build = iterator.next();
+            String projectId = build.project.getProjectId();
+            if (!running.containsKey(projectId)) {
+                iterator.remove();
+                RunningBuild runningBuild = new RunningBuild(build);
+                running.put(projectId, runningBuild);
+                publish(toItem(build, RUNNING, 0, runningBuild.started));
+                workers.execute(COMMAND, () -> start(build, runningBuild));
+            }
+        }
+    }
+
+    private void start(PendingBuild build, RunningBuild runningBuild) {
+        String projectId = build.project.getProjectId();
+        try {
+            String tag = ProjectService.getBuildTag(build.tag);
+            if (properties.builder().cache().enabled()) {
+                String hash = buildCacheService.getHash(projectId);
+                BuildCacheService.Entry entry = build.force ? null : buildCacheService.find(projectId, hash);
+                String reusedTag = entry != null ? buildCacheService.reuse(projectId, entry, build.tag) : null;
+                if (reusedTag != null) {
+                    reused(projectId, runningBuild, entry.tag(), reusedTag);
+                    return;
+                }
+                runningBuild.hash = hash;
+            }
+            runningBuild.tag = tag;
+            log.info("Starting build of " + projectId + " with tag " + tag);
+            projectService.buildProject(build.project, tag);
+        } catch (Exception e) {
+            log.error("Error starting build of " + projectId + ": " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+            finished(projectId, null, true);
+        }
+    }
+
+    private synchronized void reused(String projectId, RunningBuild build, String builtTag, String reusedTag) {
+        long finished = System.currentTimeMillis();
+        log.info("Sources of " + projectId + " did not change since " + builtTag + ", reused the image as " + reusedTag + " in " + (finished - build.started) + " ms");
+        if (running.remove(projectId, build)) {
+            publish(toItem(build.build, REUSED, 0, build.started).toBuilder()
+                    .tag(reusedTag).reusedTag(builtTag).finished(finished).duration(finished - build.started).build());
+            dispatch();
+            publishQueue();
+        }
+    }
+
+    /**
+     * @param state state of the builder container, null if it is unknown
+     */
+    private synchronized void finished(String projectId, String state, boolean force) {
+        RunningBuild build = running.get(projectId);
+        if (build != null && (build.seen || force)) {
+            running.remove(projectId);
+            long finished = System.currentTimeMillis();
+            long duration = finished - build.started;
+            log.info("Build of " + projectId + " finished" + (state != null ? " as " + state : "") + " in " + duration + " ms");
+            if (build.hash != null && Objects.equals(state, PodContainerStatus.State.exited.name())) {
+                workers.execute(COMMAND, () -> buildCacheService.built(projectId, build.hash, build.tag, duration));
+            }
+            publish(toItem(build.build, FINISHED, 0, build.started).toBuilder()
+                    .tag(build.tag != null ? build.tag : build.build.tag).finished(finished).duration(duration).build());
+            dispatch();
+            publishQueue();
+        }
+    }
+
+    private synchronized void seen(String projectId) {
+        RunningBuild build = running.get(projectId);
+        if (build != null) {
+            build.seen = true;
+        }
+    }
+
+    @ConsumeEvent(value = POD_CONTAINER_UPDATED, codec = PodContainerStatusCodec.class)
+    void onContainerUpdated(PodContainerStatus status) {
+        if (Objects.equals(status.getType(), ContainerType.build) && status.getProjectId() != null) {
+            if (Objects.equals(status.getState(), PodContainerStatus.State.exited.name()) || Objects.equals(status.getState(), PodContainerStatus.State.dead.name())) {
+                finished(status.getProjectId(), status.getState(), false);
+            } else {
+                seen(status.getProjectId());
+            }
+        }
+    }
+
+    @ConsumeEvent(value = POD_CONTAINER_DELETED, codec = PodContainerStatusCodec.class)
+    void onContainerDeleted(PodContainerStatus status) {
+        if (status.getProjectId() != null && Objects.equals(status.getContainerName(), status.getProjectId() + BUILDER_SUFFIX)) {
+            finished(status.getProjectId(), null, false);
+        }
+    }
+
+    @Scheduled(every = "1m", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    synchronized void releaseExpired() {
+        long now = System.currentTimeMillis();
+        long timeout = properties.builder().queue().timeout().toMillis();
+        List.copyOf(running.entrySet()).forEach(entry -> {
+            RunningBuild build = entry.getValue();
+            if (now - build.started > timeout || (!build.seen && now - build.started > START_TIMEOUT)) {
+                log.warn("Build of " + entry.getKey() + " did not finish in time, releasing its slot");
+                finished(entry.getKey(), null, true);
+            }
+        });
+    }
+
+    // positions of all queued builds move when a build leaves the queue
+    private void publishQueue() {
+        for (int i = 0; i < queue.size(); i++) {
+            publish(toItem(queue.get(i), QUEUED, i + 1, null));
+        }
+    }
+
+    private void publish(BuildQueueItem item) {
+        eventBus.publish(BUILD_QUEUE_UPDATED, JsonObject.mapFrom(item));
+    }
+
+    private static BuildQueueItem toItem(PendingBuild build, String state, int position, Long started) {
+        return BuildQueueItem.builder()
+                .projectId(build.project.getProjectId())
+                .tag(build.tag)
+                .priority(build.priority)
+                .state(state)
+                .position(position)
+                .submitted(build.submitted)
+                .started(started)
+                .build();
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.apache.camel.karavan.model.Project;
+import org.apache.camel.karavan.model.ProjectFile;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEditor;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.eclipse.jgit.internal.storage.dfs.InMemoryRepository;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes commits of projects straight from the cache into the object database of the git mirror, nothing is checked out.
+ * File bodies are inserted as blobs and the tree of the branch head is edited only at the project paths.
+ * Commits are pushed by id, a push rejected because the branch moved is rebuilt on the new head and pushed again.
+ * With ephemeral git the commits go to an in-memory repository and are not pushed.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class GitCommitService {
+
+    private static final int MAX_PUSH_ATTEMPTS = 3;
+
+    private volatile Git ephemeral;
+
+    private final KaravanProperties properties;
+    private final GitService gitService;
+    private final GitHistoryService gitHistoryService;
+
+    /**
+     * Changes of one project to commit
+     *
+     * @param files     all files of the project
+     * @param fileNames files to add to the commit
+     */
+    public record ProjectChange(Project project, List<ProjectFile> files, String message, String authorName, String authorEmail, List<String> fileNames) {
+    }
+
+    /**
+     * @param commit commit of the change, null if the change could not be committed
+     * @param error  reason the change could not be committed
+     */
+    public record ChangeResult(RevCommit commit, String error) {
+    }
+
+    /**
+     * Commits the changes one commit per project on top of the branch head and pushes all commits at once
+     *
+     * @return results in the order of the changes
+     */
+    public synchronized List<ChangeResult> commitAndPushProjects(List<ProjectChange> changes) throws Exception {
+        log.info("Commit and push " + changes.size() + " project change(s)");
+        Git git = getRepository();
+        String branch = Constants.R_HEADS + properties.git().branch();
+        // a history refresh fetching in between could move the branch back to the head before the push
+        gitHistoryService.getMirrorLock().lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                ObjectId parent = properties.git().ephemeral() ? git.getRepository().resolve(branch) : gitHistoryService.fetchHead(git);
+                List<ChangeResult> commits = writeCommits(git.getRepository(), parent, changes);
+                RevCommit head = commits.stream().map(ChangeResult::commit).filter(Objects::nonNull).reduce((first, second) -> second).orElse(null);
+                if (head == null || properties.git().ephemeral() || push(git, head, branch)) {
+                    if (head != null) {
+                        updateBranch(git.getRepository(), branch, head);
+                    }
+                    return commits;
+                } else if (attempt == MAX_PUSH_ATTEMPTS) {
+                    throw new IllegalStateException("Push rejected " + attempt + " times, branch " + properties.git().branch() + " keeps moving");
+                }
+                log.info("Push rejected, rebuilding commits on the new head");
+            }
+        } finally {
+            gitHistoryService.getMirrorLock().unlock();
+        }
+    }
+
+    private Git getRepository() {
+        if (properties.git().ephemeral()) {
+            if (ephemeral == null) {
+                log.warn("New ephemeral repository");
+                ephemeral = Git.wrap(new InMemoryRepository(new DfsRepositoryDescription("karavan")));
+            }
+            return ephemeral;
+        }
+        Git git = gitHistoryService.getMirror();
+        if (git == null) {
+            throw new IllegalStateException("Git repository is not available");
+        }
+        return git;
+    }
+
+    private List<ChangeResult> writeCommits(Repository repository, ObjectId parent, List<ProjectChange> changes) throws IOException {
+        List<ChangeResult> commits = new ArrayList<>(changes.size());
+        try (ObjectInserter inserter = repository.newObjectInserter();
+             ObjectReader reader = inserter.newReader();
+             RevWalk revWalk = new RevWalk(reader)) {
+            DirCache index = readTree(reader, parent != null ? revWalk.parseCommit(parent) : null);
+            for (ProjectChange change : changes) {
+                try {
+                    ObjectId commitId = writeCommit(inserter, index, parent, change);
+                    inserter.flush();
+                    RevCommit commit = revWalk.parseCommit(commitId);
+                    log.info("Git commit: " + commit);
+                    commits.add(new ChangeResult(commit, null));
+                    parent = commit;
+                } catch (Exception e) {
+                    var error = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                    log.error("Error committing project " + change.project().getProjectId() + ": " + error);
+                    commits.add(new ChangeResult(null, error));
+                    // the failed edit may be half applied, start again from the last commit
+                    index = readTree(reader, parent != null ? revWalk.parseCommit(parent) : null);
+                }
+            }
+        }
+        return commits;
+    }
+
+    private static DirCache readTree(ObjectReader reader, RevCommit commit) throws IOException {
+        DirCache index = DirCache.newInCore();
+        if (commit != null) {
+            DirCacheBuilder builder = index.builder();
+            builder.addTree(new byte[0], DirCacheEntry.STAGE_0, reader, commit.getTree());
+            builder.finish();
+        }
+        return index;
+    }
+
+    // adds the listed files and removes files of the project folder that are no longer in the cache
+    private static ObjectId writeCommit(ObjectInserter inserter, DirCache index, ObjectId parent, ProjectChange change) throws IOException {
+        String projectId = change.project().getProjectId();
+        Map<String, ProjectFile> files = new HashMap<>();
+        change.files().forEach(file -> files.put(file.getName(), file));
+        DirCacheEditor editor = index.editor();
+        for (String name : change.fileNames()) {
+            ProjectFile file = files.get(name);
+            if (file != null) {
+                ObjectId blob = inserter.insert(Constants.OBJ_BLOB, file.getCode().getBytes(StandardCharsets.UTF_8));
+                editor.add(new DirCacheEditor.PathEdit(projectId + "/" + name) {
+                    @Override
+                    public void apply(DirCacheEntry entry) {
+                        entry.setFileMode(FileMode.REGULAR_FILE);
+                        entry.setObjectId(blob);
+                    }
+                });
+            }
+        }
+        String folder = projectId + "/";
+        for (int i = 0; i < index.getEntryCount(); i++) {
+            String path = index.getEntry(i).getPathString();
+            if (path.startsWith(folder)) {
+                String name = path.substring(folder.length());
+                if (!name.contains("/") && !name.startsWith(".") && !files.containsKey(name)) {
+                    editor.add(new DirCacheEditor.DeletePath(path));
+                }
+            }
+        }
+        editor.finish();
+
+        PersonIdent author = new PersonIdent(change.authorName(), change.authorEmail());
+        CommitBuilder commit = new CommitBuilder();
+        commit.setTreeId(index.writeTree(inserter));
+        if (parent != null) {
+            commit.setParentId(parent);
+        }
+        commit.setAuthor(author);
+        commit.setCommitter(author);
+        commit.setMessage(change.message());
+        return inserter.insert(commit);
+    }
+
+    /**
+     * @return false if the branch moved since the fetch
+     */
+    private boolean push(Git git, RevCommit head, String branch) throws Exception {
+        Iterable<PushResult> results = gitService.setCredentials(git.push()
+                .setRemote("origin")
+                .setRefSpecs(new RefSpec(head.getName() + ":" + branch))).call();
+        for (PushResult result : results) {
+            log.info("Git push: " + result.getRemoteUpdates());
+            for (RemoteRefUpdate update : result.getRemoteUpdates()) {
+                switch (update.getStatus()) {
+                    case OK, UP_TO_DATE -> {
+                    }
+                    case REJECTED_NONFASTFORWARD, REJECTED_REMOTE_CHANGED -> {
+                        return false;
+                    }
+                    default -> throw new IllegalStateException("Push failed: " + update.getStatus() + " " + update.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the branch to the pushed head, gc packing refs at the same time can make the update fail with LOCK_FAILURE
+     */
+    private void updateBranch(Repository repository, String branch, RevCommit head) throws IOException {
+        RefUpdate.Result result;
+        int attempt = 0;
+        do {
+            RefUpdate update = repository.updateRef(branch);
+            update.setNewObjectId(head);
+            update.setForceUpdate(true);
+            result = update.update();
+            if (result == RefUpdate.Result.NEW || result == RefUpdate.Result.FORCED
+                    || result == RefUpdate.Result.FAST_FORWARD || result == RefUpdate.Result.NO_CHANGE) {
+                return;
+            }
+        } while (result == RefUpdate.Result.LOCK_FAILURE && ++attempt < MAX_PUSH_ATTEMPTS);
+        if (properties.git().ephemeral()) {
+            // the ephemeral repository has no remote, its branch is the only copy of the commits
+            throw new IllegalStateException("Update of " + branch + " to " + head.getName() + " failed: " + result);
+        }
+        // the commits are pushed, the next fetch moves the mirror branch to them
+        log.error("Update of mirror " + branch + " to " + head.getName() + " failed: " + result);
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.apache.camel.karavan.model.GitConfig;
+import org.apache.camel.karavan.model.ProjectCommit;
+import org.apache.camel.karavan.model.ProjectFileCommitDiff;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.TransportException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Commit history of projects read from a persistent bare mirror of the repository.
+ * Pages of a project history are served from the commit ids walked so far, commit metadata is kept in an LRU cache.
+ * A history walk starts at the last commit of the project folder, so it stays valid while other projects change.
+ * Changed files of a commit and the diff of one file are computed only when requested.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class GitHistoryService {
+
+    private static final String MIRROR_FOLDER = "git-mirror";
+    private static final long FETCH_MIN_INTERVAL = 10_000;
+    // repack with a new commit-graph and bitmaps after this many fetched commits
+    private static final int MAINTENANCE_COMMITS = 1000;
+
+    private final Map<String, ProjectHistory> histories = new ConcurrentHashMap<>();
+    private volatile Map<String, ProjectCommit> commits;
+    private volatile Git mirror;
+    private volatile long lastFetch = 0;
+    // fetches, commits and sync read and write refs/heads/<branch> of the mirror, each holds this lock for the whole sequence
+    private final ReentrantLock mirrorLock = new ReentrantLock();
+    private volatile LastCommits lastCommits;
+    private int commitsSinceMaintenance = 0;
+    // gc of a large mirror takes minutes, it must not hold the single GIT worker that imports and commits
+    private final ExecutorService maintenance = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("karavan-git-maintenance").factory());
+
+    private final KaravanProperties properties;
+    private final GitService gitService;
+
+    private record ProjectHistory(ObjectId start, List<String> commitIds, boolean complete) {
+    }
+
+    /**
+     * Commits of the project, newest first, without diffs.
+     * The first page fetches the mirror unless it was fetched a moment ago.
+     */
+    public List<ProjectCommit> getProjectCommits(String projectId, int offset, int limit) throws Exception {
+        Git git = getMirror();
+        if (git == null) {
+            return List.of();
+        }
+        if (offset == 0) {
+            fetch(git);
+        }
+        ObjectId head = getHead(git);
+        if (head == null) {
+            return List.of();
+        }
+        int size = Math.min(Math.max(limit, 1), properties.git().history().maxPageSize());
+        List<String> commitIds = getCommitIds(git, projectId, getStart(git, projectId, head), offset + size);
+        List<ProjectCommit> result = new ArrayList<>(size);
+        for (int i = offset; i < Math.min(offset + size, commitIds.size()); i++) {
+            result.add(getCommit(git, projectId, commitIds.get(i)));
+        }
+        return result;
+    }
+
+    // the walk starts at the last commit of the project, so commits of other projects do not invalidate its history
+    private ObjectId getStart(Git git, String projectId, ObjectId head) {
+        LastCommits.LastCommit lastCommit = getLastCommit(git, head, projectId);
+        return lastCommit != null ? ObjectId.fromString(lastCommit.commitId()) : head;
+    }
+
+    // walks again only when the project changed or the page is past the commits walked so far
+    private List<String> getCommitIds(Git git, String projectId, ObjectId start, int count) {
+        ProjectHistory result = histories.compute(projectId, (id, history) -> {
+            if (history != null && history.start().equals(start) && (history.complete() || history.commitIds().size() >= count)) {
+                return history;
+            }
+            int maxCount = history != null && history.start().equals(start) ? Math.max(count, history.commitIds().size() * 2) : count;
+            List<String> commitIds = new ArrayList<>(maxCount);
+            try {
+                for (RevCommit commit : git.log().add(start).addPath(projectId).setMaxCount(maxCount).call()) {
+                    commitIds.add(commit.getName());
+                    getCommits().putIfAbsent(commit.getName(), toProjectCommit(commit));
+                }
+            } catch (Exception e) {
+                log.error("Error reading history of " + projectId + ": " + e.getMessage());
+                return history;
+            }
+            return new ProjectHistory(start, commitIds, commitIds.size() < maxCount);
+        });
+        return result != null ? result.commitIds() : List.of();
+    }
+
+    private ProjectCommit getCommit(Git git, String projectId, String commitId) throws IOException {
+        ProjectCommit commit = getCommits().get(commitId);
+        if (commit == null) {
+            try (RevWalk revWalk = new RevWalk(git.getRepository())) {
+                commit = toProjectCommit(revWalk.parseCommit(ObjectId.fromString(commitId)));
+                getCommits().put(commitId, commit);
+            }
+        }
+        return commit.toBuilder().projectId(projectId).build();
+    }
+
+    private static ProjectCommit toProjectCommit(RevCommit commit) {
+        return ProjectCommit.builder()
+                .id(commit.getName())
+                .authorName(commit.getAuthorIdent().getName())
+                .authorEmail(commit.getAuthorIdent().getEmailAddress())
+                .message(commit.getShortMessage())
+                .commitTimestamp(commit.getCommitTime() * 1000L)
+                .build();
+    }
+
+    /**
+     * Files of the project changed by the commit, without the diff text
+     */
+    public List<ProjectFileCommitDiff> getCommitFiles(String projectId, String commitId) throws IOException {
+        Git git = getMirror();
+        if (git == null) {
+            return List.of();
+        }
+        try (DiffFormatter formatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+            return scan(git.getRepository(), formatter, projectId, commitId).stream()
+                    .map(diff -> new ProjectFileCommitDiff(diff.getChangeType().name(), diff.getNewPath(), diff.getOldPath(), null))
+                    .toList();
+        }
+    }
+
+    /**
+     * Unified diff of one file of the project in the commit
+     */
+    public ProjectFileCommitDiff getCommitFileDiff(String projectId, String commitId, String path) throws IOException {
+        Git git = getMirror();
+        if (git == null || !path.startsWith(projectId + "/")) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DiffFormatter formatter = new DiffFormatter(out)) {
+            List<DiffEntry> diffs = scan(git.getRepository(), formatter, path, commitId);
+            if (diffs.isEmpty()) {
+                return null;
+            }
+            DiffEntry diff = diffs.getFirst();
+            formatter.format(diff);
+            formatter.flush();
+            return new ProjectFileCommitDiff(diff.getChangeType().name(), diff.getNewPath(), diff.getOldPath(), out.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<DiffEntry> scan(Repository repository, DiffFormatter formatter, String path, String commitId) throws IOException {
+        formatter.setRepository(repository);
+        formatter.setPathFilter(PathFilter.create(path));
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            RevCommit commit = revWalk.parseCommit(ObjectId.fromString(commitId));
+            RevCommit parent = commit.getParentCount() > 0 ? revWalk.parseCommit(commit.getParent(0)) : null;
+            return formatter.scan(parent != null ? parent.getTree() : null, commit.getTree());
+        }
+    }
+
+    private Map<String, ProjectCommit> getCommits() {
+        if (commits == null) {
+            synchronized (this) {
+                if (commits == null) {
+                    int cacheSize = properties.git().history().cacheSize();
+                    commits = Collections.synchronizedMap(new LinkedHashMap<>(cacheSize, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, ProjectCommit> eldest) {
+                            return size() > cacheSize;
+                        }
+                    });
+                }
+            }
+        }
+        return commits;
+    }
+
+    /**
+     * Last commit of every project folder and file of the mirror, built once and updated with the fetched commits
+     */
+    private synchronized LastCommits getLastCommits(Git git, ObjectId head) {
+        try {
+            if (lastCommits == null) {
+                lastCommits = LastCommits.build(git.getRepository(), head, List.of());
+            } else {
+                commitsSinceMaintenance += lastCommits.update(git.getRepository(), head);
+            }
+        } catch (IOException e) {
+            log.error("Error reading last commits: " + e.getMessage());
+        }
+        return lastCommits;
+    }
+
+    /**
+     * Bare mirror of the repository kept in the cache state folder, cloned once and fetched afterwards.
+     * The mirror keeps a commit-graph with changed-path Bloom filters and pack bitmaps,
+     * so path limited walks skip commits that do not touch the path without reading their trees.
+     */
+    public Git getMirror() {
+        if (mirror == null && !properties.git().ephemeral()) {
+            synchronized (this) {
+                if (mirror == null) {
+                    File folder = Paths.get(properties.cache().statePath(), MIRROR_FOLDER).toFile();
+                    try {
+                        mirror = folder.exists() ? Git.open(folder) : cloneMirror(folder);
+                        lastFetch = System.currentTimeMillis();
+                        configure(mirror.getRepository());
+                        Git git = mirror;
+                        maintenance.execute(() -> maintain(git));
+                    } catch (Exception e) {
+                        log.error("Error initializing git mirror: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return mirror;
+    }
+
+    private Git cloneMirror(File folder) throws Exception {
+        GitConfig gitConfig = gitService.getGitConfig();
+        log.info("Clone git mirror to " + folder);
+        return gitService.setCredentials(Git.cloneRepository()
+                .setBare(true)
+                .setURI(gitConfig.getUri())
+                .setBranch(gitConfig.getBranch())
+                .setDirectory(folder)).call();
+    }
+
+    private static void configure(Repository repository) throws IOException {
+        StoredConfig config = repository.getConfig();
+        config.setBoolean(ConfigConstants.CONFIG_CORE_SECTION, null, ConfigConstants.CONFIG_COMMIT_GRAPH, true);
+        config.setBoolean(ConfigConstants.CONFIG_COMMIT_GRAPH_SECTION, null, ConfigConstants.CONFIG_KEY_READ_CHANGED_PATHS, true);
+        config.setBoolean(ConfigConstants.CONFIG_GC_SECTION, null, ConfigConstants.CONFIG_KEY_WRITE_COMMIT_GRAPH, true);
+        config.setBoolean(ConfigConstants.CONFIG_GC_SECTION, null, ConfigConstants.CONFIG_KEY_WRITE_CHANGED_PATHS, true);
+        config.setBoolean(ConfigConstants.CONFIG_PACK_SECTION, null, ConfigConstants.CONFIG_KEY_BUILD_BITMAPS, true);
+        config.save();
+    }
+
+    // gc writes the commit-graph, changed-path filters and bitmaps configured above
+    private void maintain(Git git) {
+        try {
+            long start = System.currentTimeMillis();
+            git.gc().call();
+            log.info("Git mirror repacked in " + (System.currentTimeMillis() - start) + "ms");
+            ObjectId head = getHead(git);
+            if (head != null) {
+                getLastCommits(git, head);
+            }
+        } catch (Exception e) {
+            log.error("Error repacking git mirror: " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        maintenance.shutdownNow();
+    }
+
+    private synchronized void scheduleMaintenance(Git git) {
+        if (commitsSinceMaintenance >= MAINTENANCE_COMMITS) {
+            commitsSinceMaintenance = 0;
+            maintenance.execute(() -> maintain(git));
+        }
+    }
+
+    // a request does not wait for a commit or sync in progress, they fetch the mirror themselves
+    private void fetch(Git git) {
+        if (System.currentTimeMillis() - lastFetch >= FETCH_MIN_INTERVAL && mirrorLock.tryLock()) {
+            try {
+                if (System.currentTimeMillis() - lastFetch >= FETCH_MIN_INTERVAL) {
+                    fetchHead(git);
+                }
+            } catch (Exception e) {
+                log.error("Error fetching git mirror: " + e.getMessage());
+            } finally {
+                mirrorLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Lock of the mirror branch, held by callers that fetch, commit on top of the fetched head and update the branch
+     */
+    ReentrantLock getMirrorLock() {
+        return mirrorLock;
+    }
+
+    /**
+     * Fetches the branch into the mirror, a fetch without new commits only reads the remote refs
+     *
+     * @return head of the branch after the fetch, null for an empty repository
+     */
+    public ObjectId fetchHead(Git git) throws Exception {
+        String branch = Constants.R_HEADS + properties.git().branch();
+        mirrorLock.lock();
+        try {
+            try {
+                gitService.setCredentials(git.fetch().setRemote("origin").setRefSpecs(new RefSpec("+" + branch + ":" + branch))).call();
+            } catch (TransportException e) {
+                // the remote is empty or does not have the branch yet, the first push creates it
+                if (hasRemoteBranch(git, branch)) {
+                    throw e;
+                }
+                lastFetch = System.currentTimeMillis();
+                return null;
+            }
+            lastFetch = System.currentTimeMillis();
+            ObjectId head = getHead(git);
+            if (head != null) {
+                getLastCommits(git, head);
+                scheduleMaintenance(git);
+            }
+            return head;
+        } finally {
+            mirrorLock.unlock();
+        }
+    }
+
+    // asked only after a failed fetch, so a fetch of an existing branch costs no extra round trip
+    private boolean hasRemoteBranch(Git git, String branch) throws Exception {
+        return gitService.setCredentials(git.lsRemote().setRemote("origin").setHeads(true)).call().stream()
+                .anyMatch(ref -> Objects.equals(ref.getName(), branch));
+    }
+
+    public ObjectId getHead(Git git) throws IOException {
+        return git.getRepository().resolve(Constants.R_HEADS + properties.git().branch());
+    }
+
+    /**
+     * Last commit of a project folder or file at the head
+     */
+    LastCommits.LastCommit getLastCommit(Git git, ObjectId head, String path) {
+        LastCommits table = getLastCommits(git, head);
+        return table != null ? table.get(path) : null;
+    }
+}
@@ -32,29 +32,21 @@ import org.eclipse.jgit.api.errors.InvalidRemoteException;
 import org.eclipse.jgit.api.errors.RefNotFoundException;
 import org.eclipse.jgit.api.errors.TransportException;
 import org.eclipse.jgit.diff.DiffEntry;
-import org.eclipse.jgit.diff.DiffFormatter;
 import org.eclipse.jgit.lib.*;
 import org.eclipse.jgit.revwalk.RevCommit;
-import org.eclipse.jgit.revwalk.RevTree;
-import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.*;
 import org.eclipse.jgit.transport.ssh.jsch.JschConfigSessionFactory;
-import org.eclipse.jgit.treewalk.AbstractTreeIterator;
-import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.treewalk.filter.TreeFilter;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.regex.Pattern;
-import java.util.stream.StreamSupport;
 
 @Slf4j
 @ApplicationScoped
@@ -75,18 +67,6 @@ public class GitService {
         return new GitConfig(properties.git().repository().orElse(null), properties.git().username().orElse(null), properties.git().password().orElse(null), properties.git().branch(), properties.privateKeyPath().orElse(null));
     }
 
-    public RevCommit commitAndPushProject(Project project, List<ProjectFile> files, String message, String authorName, String authorEmail, List<String> fileNames) throws GitAPIException, IOException, URISyntaxException {
-        log.info("Commit and push project " + project.getProjectId());
-        GitConfig gitConfig = getGitConfig();
-        String uuid = UUID.randomUUID().toString();
-        String folder = vertx.fileSystem().createTempDirectoryBlocking(uuid);
-        log.info("Temp folder created " + folder);
-        Git git = getGit(true, folder);
-        writeProjectToFolder(folder, project, files);
-        addDeletedFilesToIndex(git, folder, project, files);
-        return commitAddedAndPush(git, gitConfig.getBranch(), message, authorName, authorEmail, fileNames, project.getProjectId());
-    }
-
     public List<GitRepo> readProjectsToImport() {
         Git importGit = getGitForImport();
         if (importGit != null) {
@@ -95,6 +75,13 @@ public class GitService {
         return new ArrayList<>(0);
     }
 
+    /**
+     * Head of the clone the projects were imported from, null if nothing was imported
+     */
+    public ObjectId getImportedHead() throws IOException {
+        return gitForImport != null ? gitForImport.getRepository().resolve(Constants.HEAD) : null;
+    }
+
     public Git getGitForImport() {
         if (gitForImport == null) {
             synchronized (this) {
@@ -116,16 +103,18 @@ public class GitService {
         try {
             String folder = git.getRepository().getDirectory().getAbsolutePath().replace(File.separator + ".git", "");
             List<String> projects = readProjectsFromFolder(folder, filter);
+            ObjectId head = git.getRepository().resolve(Constants.HEAD);
+            LastCommits lastCommits = head != null ? LastCommits.build(git.getRepository(), head, filter != null ? List.of(filter) : List.of()) : null;
             for (String project : projects) {
                 Map<String, String> filesRead = readProjectFilesFromFolder(folder, project);
                 List<GitRepoFile> files = new ArrayList<>(filesRead.size());
                 for (Map.Entry<String, String> entry : filesRead.entrySet()) {
                     String name = entry.getKey();
                     String body = entry.getValue();
-                    Tuple2<String, Integer> fileCommit = lastCommit(git, project + "/" + name);
+                    Tuple2<String, Integer> fileCommit = lastCommit(git, lastCommits, project + "/" + name);
                     files.add(new GitRepoFile(name, fileCommit.getItem2().longValue() * 1000, body));
                 }
-                Tuple2<String, Integer> commit = lastCommit(git, project);
+                Tuple2<String, Integer> commit = lastCommit(git, lastCommits, project);
                 GitRepo repo = new GitRepo(project, commit.getItem1(), commit.getItem2().longValue() * 1000, files);
                 result.add(repo);
             }
@@ -204,6 +193,14 @@ public class GitService {
         return files;
     }
 
+    private Tuple2<String, Integer> lastCommit(Git git, LastCommits lastCommits, String path) throws GitAPIException {
+        LastCommits.LastCommit lastCommit = lastCommits != null ? lastCommits.get(path) : null;
+        if (lastCommit != null) {
+            return Tuple2.of(lastCommit.commitId(), lastCommit.commitTime());
+        }
+        return lastCommit(git, path);
+    }
+
     private Tuple2<String, Integer> lastCommit(Git git, String path) throws GitAPIException {
         Iterable<RevCommit> log = git.log().addPath(path).setMaxCount(1).call();
         for (RevCommit commit : log) {
@@ -284,7 +281,7 @@ public class GitService {
         remoteAddCommand.call();
     }
 
-    private <T extends TransportCommand> T setCredentials(T command) {
+    public <T extends TransportCommand> T setCredentials(T command) {
         String repository = properties.git().repository().orElse("");
         if (properties.privateKeyPath().isPresent() && (repository.startsWith("git") || repository.startsWith("ssh://"))) {
             log.info("Set SshTransport");
@@ -332,39 +329,14 @@ public class GitService {
         return repos.getFirst();
     }
 
-    private void writeProjectToFolder(String folder, Project project, List<ProjectFile> files) throws IOException {
-        Files.createDirectories(Paths.get(folder, project.getProjectId()));
-        log.info("Write files for project " + project.getProjectId());
-        files.forEach(file -> {
-            try {
-                log.info("Add file " + file.getName());
-                Files.writeString(Paths.get(folder, project.getProjectId(), file.getName()), file.getCode());
-            } catch (IOException e) {
-                log.error("Error during file write", e);
-            }
-        });
-    }
-
-    private void addDeletedFilesToIndex(Git git, String folder, Project project, List<ProjectFile> files) throws IOException {
-        Path path = Paths.get(folder, project.getProjectId());
-        log.info("Add deleted files to git index for project " + project.getProjectId());
-        vertx.fileSystem().readDirBlocking(path.toString()).forEach(f -> {
-            String[] filenames = f.split(Pattern.quote(File.separator));
-            String filename = filenames[filenames.length - 1];
-            log.info("Checking file " + filename);
-            if (files.stream().filter(pf -> Objects.equals(pf.getName(), filename)).count() == 0) {
-                try {
-                    log.info("Add deleted file " + filename);
-                    git.rm().addFilepattern(project.getProjectId() + "/" + filename).call();
-                } catch (GitAPIException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        });
-    }
-
     public RevCommit commitAddedAndPush(Git git, String branch, String message, String authorName, String authorEmail, List<String> fileNames, String projectId) throws GitAPIException {
         log.info("Commit and push changes to the branch " + branch);
+        RevCommit commit = commitAdded(git, message, authorName, authorEmail, fileNames, projectId);
+        push(git, branch);
+        return commit;
+    }
+
+    private RevCommit commitAdded(Git git, String message, String authorName, String authorEmail, List<String> fileNames, String projectId) throws GitAPIException {
         AddCommand add = git.add();
         for (String fileName : fileNames) {
             add = add.addFilepattern(projectId + "/" + fileName);
@@ -372,6 +344,10 @@ public class GitService {
         log.info("Git add: " + add.call());
         RevCommit commit = git.commit().setMessage(message).setAuthor(new PersonIdent(authorName, authorEmail)).call();
         log.info("Git commit: " + commit);
+        return commit;
+    }
+
+    private void push(Git git, String branch) throws GitAPIException {
         if (!properties.git().ephemeral()) {
             PushCommand pushCommand = git.push();
             pushCommand.add(branch).setRemote("origin");
@@ -379,7 +355,6 @@ public class GitService {
             Iterable<PushResult> result = pushCommand.call();
             log.info("Git push: " + result);
         }
-        return commit;
     }
 
     private void addDeletedFolderToIndex(Git git, String projectId) {
@@ -471,82 +446,4 @@ public class GitService {
         }
         return true;
     }
-
-    public List<ProjectCommit> getProjectCommits(String projectId) {
-        List<ProjectCommit> result = new ArrayList<>();
-        try {
-            Git pollGit = getGit(true, vertx.fileSystem().createTempDirectoryBlocking("commits"));
-            if (pollGit != null) {
-                StreamSupport.stream(pollGit.log().all().addPath(projectId).call().spliterator(), false)
-                        .sorted(Comparator.comparingInt(RevCommit::getCommitTime))
-                        .forEach(commit -> {
-                            var diffs = getProjectFileCommitDiffs(pollGit, commit);
-                            var projectCommit = new ProjectCommit(commit.getId().getName(), projectId,
-                                    commit.getAuthorIdent().getName(), commit.getAuthorIdent().getEmailAddress(),
-                                    commit.getShortMessage(), diffs);
-                            result.add(projectCommit);
-                        });
-            }
-        } catch (Exception e) {
-            log.error("Error", e);
-        }
-        return result;
-    }
-
-    private List<ProjectFileCommitDiff> getProjectFileCommitDiffs(Git git, RevCommit commit) {
-        List<ProjectFileCommitDiff> result = new ArrayList<>();
-        var repository = git.getRepository();
-        try {
-            try (RevWalk revWalk = new RevWalk(repository)) {
-                if (commit.getParentCount() > 0) {
-                    RevCommit parentCommit = commit.getParent(0);
-                    revWalk.parseCommit(parentCommit);
-
-                    AbstractTreeIterator oldTreeIter = prepareTreeParser(repository, parentCommit);
-                    AbstractTreeIterator newTreeIter = prepareTreeParser(repository, commit);
-
-                    try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                         DiffFormatter diffFormatter = new DiffFormatter(baos)) {
-                        diffFormatter.setRepository(repository);
-                        List<DiffEntry> diffs = diffFormatter.scan(oldTreeIter, newTreeIter);
-
-                        for (DiffEntry diff : diffs) {
-                            diffFormatter.format(diff);
-                            var fileDiff = new ProjectFileCommitDiff(diff.getChangeType().name(), diff.getNewPath(), diff.getOldPath(), baos.toString(StandardCharsets.UTF_8));
-                            result.add(fileDiff);
-                            baos.reset();  // Clear the output stream for the next diff
-                        }
-                    }
-                } else {
-                    try (TreeWalk treeWalk = new TreeWalk(repository)) {
-                        treeWalk.addTree(commit.getTree());
-                        treeWalk.setRecursive(true);
-                        while (treeWalk.next()) {
-                            // Get the object ID for the file (blob)
-                            ObjectId objectId = treeWalk.getObjectId(0);
-                            // Load the file content
-                            ObjectLoader loader = repository.open(objectId);
-                            byte[] content = loader.getBytes();
-                            var fileDiff = new ProjectFileCommitDiff(DiffEntry.ChangeType.ADD.name(), treeWalk.getPathString(), DiffEntry.DEV_NULL, new String(content, StandardCharsets.UTF_8));
-                            result.add(fileDiff);
-                        }
-                    }
-                }
-            }
-        } catch (IOException e) {
-            log.error("Error", e);
-        }
-        return result;
-    }
-
-    private static AbstractTreeIterator prepareTreeParser(Repository repository, RevCommit commit) throws IOException {
-        try (RevWalk walk = new RevWalk(repository)) {
-            RevTree tree = walk.parseTree(commit.getTree().getId());
-            CanonicalTreeParser treeParser = new CanonicalTreeParser();
-            try (ObjectReader reader = repository.newObjectReader()) {
-                treeParser.reset(reader, tree.getId());
-            }
-            return treeParser;
-        }
-    }
 }
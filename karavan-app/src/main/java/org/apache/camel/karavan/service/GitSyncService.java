@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.model.GitRepo;
+import org.apache.camel.karavan.model.GitRepoFile;
+import org.apache.camel.karavan.model.GroupedKey;
+import org.apache.camel.karavan.model.Project;
+import org.apache.camel.karavan.model.ProjectFile;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.apache.camel.karavan.KaravanConstants.DEV;
+
+/**
+ * Brings commits pushed by others (CI, other instances) into the cache.
+ * The mirror is fetched and only the project files changed between the last synced head and the new head are read.
+ * Files with local uncommitted changes keep their working version, only their committed version moves forward.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class GitSyncService {
+
+    private volatile ObjectId syncedHead;
+
+    private final KaravanCache karavanCache;
+    private final GitHistoryService gitHistoryService;
+    private final ProjectService projectService;
+
+    /**
+     * Records the head the projects were imported from at startup, the first sync reads the commits pushed since then
+     */
+    public synchronized void imported(ObjectId head) {
+        if (syncedHead == null) {
+            syncedHead = head;
+        }
+    }
+
+    /**
+     * @return number of changed projects
+     */
+    public synchronized int sync() throws Exception {
+        Git git = gitHistoryService.getMirror();
+        if (git == null) {
+            return 0;
+        }
+        gitHistoryService.getMirrorLock().lock();
+        try {
+            // without an import (cache restored from the state folder) the first sync starts from the mirror head fetched before the restart
+            ObjectId before = syncedHead != null ? syncedHead : gitHistoryService.getHead(git);
+            ObjectId head = gitHistoryService.fetchHead(git);
+            if (head == null || head.equals(before)) {
+                syncedHead = head;
+                return 0;
+            }
+            Map<String, Map<String, ObjectId>> changes = before != null ? getChangedFiles(git.getRepository(), before, head) : Map.of();
+            for (Map.Entry<String, Map<String, ObjectId>> entry : changes.entrySet()) {
+                updateProject(git, head, entry.getKey(), entry.getValue());
+            }
+            syncedHead = head;
+            log.info("Git sync to " + head.getName() + " updated " + changes.size() + " project(s)");
+            return changes.size();
+        } finally {
+            gitHistoryService.getMirrorLock().unlock();
+        }
+    }
+
+    /**
+     * Files of project folders that differ between the commits: project -> file name -> new blob, null if deleted
+     */
+    private static Map<String, Map<String, ObjectId>> getChangedFiles(Repository repository, ObjectId before, ObjectId head) throws IOException {
+        Map<String, Map<String, ObjectId>> result = new HashMap<>();
+        try (RevWalk revWalk = new RevWalk(repository); TreeWalk walk = new TreeWalk(repository)) {
+            walk.addTree(revWalk.parseCommit(before).getTree());
+            walk.addTree(revWalk.parseCommit(head).getTree());
+            walk.setRecursive(true);
+            walk.setFilter(TreeFilter.ANY_DIFF);
+            while (walk.next()) {
+                // projects are top level folders, their files are read without subfolders, hidden ones are skipped as on import
+                String[] path = walk.getPathString().split("/");
+                if (path.length == 2 && !path[0].startsWith(".") && !path[1].startsWith(".")) {
+                    ObjectId blob = walk.getFileMode(1) == FileMode.MISSING ? null : walk.getObjectId(1);
+                    result.computeIfAbsent(path[0], k -> new HashMap<>()).put(path[1], blob);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void updateProject(Git git, ObjectId head, String projectId, Map<String, ObjectId> changes) throws IOException {
+        Repository repository = git.getRepository();
+        Map<String, String> localChanges = karavanCache.getFileChanges(projectId);
+        List<ProjectFile> filesToSave = new ArrayList<>();
+        List<GroupedKey> filesToDelete = new ArrayList<>();
+        for (Map.Entry<String, ObjectId> change : changes.entrySet()) {
+            String name = change.getKey();
+            boolean changedLocally = localChanges.containsKey(name);
+            if (change.getValue() == null) {
+                if (karavanCache.getProjectFileCommited(projectId, name) != null) {
+                    karavanCache.deleteProjectFileCommited(projectId, name);
+                }
+                if (!changedLocally && karavanCache.getProjectFile(projectId, name) != null) {
+                    filesToDelete.add(new GroupedKey(projectId, DEV, name));
+                }
+                continue;
+            }
+            String body = new String(repository.open(change.getValue()).getBytes(), StandardCharsets.UTF_8);
+            ProjectFile commited = karavanCache.getProjectFileCommited(projectId, name);
+            if (commited != null && Objects.equals(commited.getCode(), body)) {
+                // pushed from this instance
+                continue;
+            }
+            LastCommits.LastCommit lastCommit = gitHistoryService.getLastCommit(git, head, projectId + "/" + name);
+            long lastUpdate = lastCommit != null ? lastCommit.commitTime() * 1000L : System.currentTimeMillis();
+            ProjectFile file = new ProjectFile(name, body, projectId, lastUpdate);
+            if (changedLocally) {
+                karavanCache.saveProjectFileCommited(file);
+            } else {
+                filesToSave.add(file);
+            }
+        }
+        karavanCache.updateProjectFiles(filesToSave, filesToDelete, true, false);
+        updateLastCommit(git, head, projectId, filesToSave);
+    }
+
+    private void updateLastCommit(Git git, ObjectId head, String projectId, List<ProjectFile> savedFiles) {
+        LastCommits.LastCommit lastCommit = gitHistoryService.getLastCommit(git, head, projectId);
+        String commitId = lastCommit != null ? lastCommit.commitId() : head.getName();
+        long timestamp = lastCommit != null ? lastCommit.commitTime() * 1000L : System.currentTimeMillis();
+        Project project = karavanCache.getProject(projectId);
+        if (project == null) {
+            if (savedFiles.isEmpty()) {
+                return;
+            }
+            List<GitRepoFile> files = savedFiles.stream().map(f -> new GitRepoFile(f.getName(), f.getLastUpdate(), f.getCode())).toList();
+            project = projectService.getProjectFromRepo(new GitRepo(projectId, commitId, timestamp, files));
+        } else if (Objects.equals(project.getLastCommit(), commitId)) {
+            return;
+        } else {
+            project.setLastCommit(commitId);
+            project.setLastCommitTimestamp(timestamp);
+        }
+        karavanCache.saveProject(project, false);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last commit of every project folder and project file of a branch.
+ * Built with one walk over the history instead of one path limited log per path, then updated with the commits of each fetch.
+ * As with git log -1 -- path, a merge is the last commit of a path only if the path differs from all its parents.
+ */
+final class LastCommits {
+
+    record LastCommit(String commitId, int commitTime) {
+    }
+
+    private final Map<String, LastCommit> commits = new ConcurrentHashMap<>();
+    private final TreeFilter folderFilter;
+    private volatile ObjectId head;
+
+    private LastCommits(Collection<String> folders) {
+        this.folderFilter = folders.isEmpty() ? TreeFilter.ANY_DIFF : AndTreeFilter.create(PathFilterGroup.createFromStrings(folders), TreeFilter.ANY_DIFF);
+    }
+
+    /**
+     * Walks the history until every folder and file of the head tree has its last commit
+     *
+     * @param folders project folders to include, empty for all
+     */
+    static LastCommits build(Repository repository, ObjectId head, Collection<String> folders) throws IOException {
+        LastCommits lastCommits = new LastCommits(folders);
+        Set<String> unresolved = lastCommits.paths(repository, head);
+        lastCommits.walk(repository, head, null, unresolved);
+        lastCommits.head = head;
+        return lastCommits;
+    }
+
+    /**
+     * Applies the commits between the previous and the new head
+     *
+     * @return number of new commits
+     */
+    synchronized int update(Repository repository, ObjectId newHead) throws IOException {
+        if (newHead.equals(head)) {
+            return 0;
+        }
+        int count;
+        if (isAncestor(repository, head, newHead)) {
+            count = walk(repository, newHead, head, null);
+        } else {
+            // history was rewritten, entries of dropped commits can not be updated
+            commits.clear();
+            count = walk(repository, newHead, null, paths(repository, newHead));
+        }
+        head = newHead;
+        return count;
+    }
+
+    private static boolean isAncestor(Repository repository, ObjectId ancestor, ObjectId commit) throws IOException {
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            return revWalk.isMergedInto(revWalk.parseCommit(ancestor), revWalk.parseCommit(commit));
+        }
+    }
+
+    LastCommit get(String path) {
+        return commits.get(path);
+    }
+
+    private int walk(Repository repository, ObjectId start, ObjectId uninteresting, Set<String> unresolved) throws IOException {
+        Map<String, LastCommit> found = new HashMap<>();
+        int count = 0;
+        try (RevWalk revWalk = new RevWalk(repository); TreeWalk treeWalk = new TreeWalk(repository)) {
+            revWalk.sort(RevSort.COMMIT_TIME_DESC);
+            revWalk.markStart(revWalk.parseCommit(start));
+            if (uninteresting != null) {
+                revWalk.markUninteresting(revWalk.parseCommit(uninteresting));
+            }
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(folderFilter);
+            for (RevCommit commit : revWalk) {
+                count++;
+                LastCommit lastCommit = new LastCommit(commit.getName(), commit.getCommitTime());
+                for (String path : changedPaths(revWalk, treeWalk, commit)) {
+                    if (found.putIfAbsent(path, lastCommit) == null && unresolved != null) {
+                        unresolved.remove(path);
+                    }
+                }
+                if (unresolved != null && unresolved.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        commits.putAll(found);
+        return count;
+    }
+
+    // paths that differ from every parent: changes brought by a merge are found on the merged commits
+    private Set<String> changedPaths(RevWalk revWalk, TreeWalk treeWalk, RevCommit commit) throws IOException {
+        if (commit.getParentCount() == 0) {
+            treeWalk.reset();
+            treeWalk.addTree(new EmptyTreeIterator());
+            treeWalk.addTree(commit.getTree());
+            return collect(treeWalk);
+        }
+        Set<String> changed = null;
+        for (RevCommit parent : commit.getParents()) {
+            revWalk.parseHeaders(parent);
+            treeWalk.reset(parent.getTree(), commit.getTree());
+            Set<String> paths = collect(treeWalk);
+            if (changed == null) {
+                changed = paths;
+            } else {
+                changed.retainAll(paths);
+            }
+            if (changed.isEmpty()) {
+                break;
+            }
+        }
+        return changed;
+    }
+
+    private Set<String> paths(Repository repository, ObjectId head) throws IOException {
+        try (RevWalk revWalk = new RevWalk(repository); TreeWalk treeWalk = new TreeWalk(repository)) {
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(folderFilter);
+            treeWalk.addTree(new EmptyTreeIterator());
+            treeWalk.addTree(revWalk.parseCommit(head).getTree());
+            return collect(treeWalk);
+        }
+    }
+
+    // the project folder and, for files directly in it, the file path
+    private static Set<String> collect(TreeWalk treeWalk) throws IOException {
+        Set<String> paths = new HashSet<>();
+        while (treeWalk.next()) {
+            String path = treeWalk.getPathString();
+            int slash = path.indexOf('/');
+            if (slash < 0) {
+                paths.add(path);
+            } else {
+                paths.add(path.substring(0, slash));
+                if (path.indexOf('/', slash + 1) < 0) {
+                    paths.add(path);
+                }
+            }
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Log of one container, tailed once and shared by all its viewers.
+ * Keeps the last lines in a ring buffer for late subscribers and batches lines into SSE frames per subscriber.
+ * A subscriber that cannot keep up loses its oldest pending lines instead of slowing down the tail.
+ */
+@Slf4j
+public class LogStream {
+
+    @Getter
+    private final String name;
+    private final String[] buffer;
+    private final int batchSize;
+    private final int maxPending;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private int head = 0;
+    private int size = 0;
+    private volatile Runnable stopAction;
+    @Getter
+    private volatile boolean closed = false;
+    private final AtomicInteger joining = new AtomicInteger();
+
+    public LogStream(String name, int bufferSize, int batchSize, int maxPending) {
+        this.name = name;
+        this.buffer = new String[bufferSize];
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+    }
+
+    public void setStopAction(Runnable stopAction) {
+        this.stopAction = stopAction;
+        if (closed) {
+            stopAction.run();
+        }
+    }
+
+    /**
+     * Announces a viewer that subscribes right after, so the stream is not stopped for lack of viewers in between
+     */
+    public void join() {
+        joining.incrementAndGet();
+    }
+
+    /**
+     * Subscribes a viewer announced by {@link #join()}, the ring buffer is replayed to it
+     */
+    public void subscribe(SseEventSink sink, Sse sse) {
+        var subscriber = new Subscriber(sink, sse);
+        synchronized (this) {
+            subscriber.addAll(snapshot());
+            subscribers.add(subscriber);
+        }
+        joining.decrementAndGet();
+        subscriber.flush(false);
+        if (closed && subscribers.remove(subscriber)) {
+            // the tail finished while the viewer was joining
+            subscriber.flush(true);
+            subscriber.close();
+        }
+    }
+
+    public void append(String line) {
+        synchronized (this) {
+            buffer[(head + size) % buffer.length] = line;
+            if (size < buffer.length) {
+                size++;
+            } else {
+                head = (head + 1) % buffer.length;
+            }
+            subscribers.forEach(subscriber -> subscriber.add(line));
+        }
+        subscribers.forEach(subscriber -> {
+            if (subscriber.pendingSize() >= batchSize) {
+                subscriber.flush(false);
+            }
+        });
+    }
+
+    private List<String> snapshot() {
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(buffer[(head + i) % buffer.length]);
+        }
+        return result;
+    }
+
+    /**
+     * Sends pending lines to all subscribers and drops closed ones.
+     *
+     * @return true if the stream still has subscribers
+     */
+    public boolean flush() {
+        subscribers.removeIf(subscriber -> !subscriber.flush(false));
+        return !subscribers.isEmpty() || joining.get() > 0;
+    }
+
+    /**
+     * Source of the log finished: deliver what is left and close all viewers.
+     */
+    public void complete() {
+        subscribers.forEach(subscriber -> {
+            subscriber.flush(true);
+            subscriber.close();
+        });
+        subscribers.clear();
+        close();
+    }
+
+    public void close() {
+        closed = true;
+        var action = stopAction;
+        if (action != null) {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.error("Error stopping log stream " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private class Subscriber {
+
+        private final SseEventSink sink;
+        private final Sse sse;
+        private final ArrayDeque<String> pending = new ArrayDeque<>();
+        private CompletionStage<?> inFlight;
+        private long dropped = 0;
+
+        Subscriber(SseEventSink sink, Sse sse) {
+            this.sink = sink;
+            this.sse = sse;
+        }
+
+        synchronized void add(String line) {
+            if (pending.size() >= maxPending) {
+                pending.pollFirst();
+                dropped++;
+            }
+            pending.addLast(line);
+        }
+
+        synchronized int pendingSize() {
+            return pending.size();
+        }
+
+        synchronized void addAll(List<String> lines) {
+            lines.forEach(this::add);
+        }
+
+        /**
+         * @param force send even if the previous frame is not written yet
+         * @return false if the sink is closed
+         */
+        synchronized boolean flush(boolean force) {
+            if (sink.isClosed()) {
+                return false;
+            }
+            if (!force && inFlight != null && !inFlight.toCompletableFuture().isDone()) {
+                return true;
+            }
+            while (!pending.isEmpty()) {
+                StringBuilder frame = new StringBuilder();
+                if (dropped > 0) {
+                    frame.append("... ").append(dropped).append(" lines dropped ...");
+                    dropped = 0;
+                }
+                for (int i = 0; i < batchSize && !pending.isEmpty(); i++) {
+                    if (!frame.isEmpty()) {
+                        frame.append('\n');
+                    }
+                    frame.append(pending.pollFirst());
+                }
+                try {
+                    inFlight = sink.send(sse.newEvent(frame.toString()));
+                } catch (Exception e) {
+                    return false;
+                }
+                if (!force && !inFlight.toCompletableFuture().isDone()) {
+                    break;
+                }
+            }
+            return true;
+        }
+
+        void close() {
+            if (!sink.isClosed()) {
+                sink.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanWorkers;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.apache.camel.karavan.docker.DockerLogCallback;
+import org.apache.camel.karavan.docker.DockerService;
+import org.apache.camel.karavan.kubernetes.KubernetesService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class LogStreamService {
+
+    private final Map<String, LogStream> streams = new ConcurrentHashMap<>();
+
+    private final KaravanProperties properties;
+    private final KubernetesService kubernetesService;
+    private final DockerService dockerService;
+    private final KaravanWorkers workers;
+
+    public void subscribe(String name, SseEventSink sink, Sse sse) {
+        // only get or create the stream under the map lock, the replay to the new viewer is I/O and runs after it
+        LogStream joined = streams.compute(name, (key, stream) -> {
+            if (stream == null || stream.isClosed()) {
+                stream = createStream(name);
+            }
+            stream.join();
+            return stream;
+        });
+        joined.subscribe(sink, sse);
+    }
+
+    private LogStream createStream(String name) {
+        var config = properties.logwatch();
+        var stream = new LogStream(name, config.bufferSize(), config.batchSize(), config.maxPending());
+        workers.stream(name, () -> {
+            log.info("LogStream for " + name + " starting... ");
+            if (ConfigService.inKubernetes()) {
+                tailKubernetesLogs(stream);
+            } else {
+                tailDockerLogs(stream);
+            }
+            stream.complete();
+            streams.remove(name, stream);
+            log.info("LogStream for " + name + " closed");
+        });
+        return stream;
+    }
+
+    private void tailKubernetesLogs(LogStream stream) {
+        try (LogWatch logWatch = kubernetesService.getContainerLogWatch(stream.getName())) {
+            stream.setStopAction(logWatch::close);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(logWatch.getOutput()));
+            for (String line; !stream.isClosed() && (line = reader.readLine()) != null; ) {
+                stream.append(line);
+            }
+        } catch (IOException e) {
+            if (!stream.isClosed()) {
+                log.error(e.getMessage());
+            }
+        } catch (Exception e) {
+            log.error(e.getMessage());
+        }
+    }
+
+    private void tailDockerLogs(LogStream stream) {
+        try (DockerLogCallback callback = new DockerLogCallback(line -> stream.append(line.stripTrailing()))) {
+            stream.setStopAction(() -> {
+                try {
+                    callback.close();
+                } catch (IOException e) {
+                    log.error(e.getMessage());
+                }
+            });
+            dockerService.logContainer(stream.getName(), callback);
+        } catch (Exception e) {
+            log.error(e.getMessage());
+        }
+    }
+
+    @Scheduled(every = "{karavan.logwatch.flush-interval:200ms}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void flush() {
+        streams.forEach((name, stream) -> {
+            if (!stream.flush()) {
+                streams.computeIfPresent(name, (key, current) -> {
+                    // re-check under the map lock, a viewer may have just subscribed
+                    if (current == stream && !stream.flush()) {
+                        log.info("LogStream for " + name + " has no viewers, stopping");
+                        stream.close();
+                        return null;
+                    }
+                    return current;
+                });
+            }
+        });
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        streams.values().forEach(LogStream::complete);
+        streams.clear();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanWorkers;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.apache.camel.karavan.docker.DockerForKaravan;
+import org.apache.camel.karavan.kubernetes.KubernetesService;
+
+import static org.apache.camel.karavan.KaravanConstants.M2_SHARED_MAVEN_OPTS;
+import static org.apache.camel.karavan.KaravanWorkers.Category.DOCKER;
+
+/**
+ * Shared Maven repository mounted read-only into builders and devmode containers behind their own repository.
+ * It is seeded from the repository baked into the devmode image, so the first build of a project does not download
+ * what the image already has. Artifacts downloaded by a project stay in the project repository.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class MavenRepositoryService {
+
+    private final KaravanProperties properties;
+    private final KaravanWorkers workers;
+    private final KubernetesService kubernetesService;
+    private final DockerForKaravan dockerForKaravan;
+
+    void onStart(@Observes StartupEvent ev) {
+        if (properties.maven().shared().enabled()) {
+            workers.execute(DOCKER, this::seed);
+        }
+    }
+
+    /**
+     * MAVEN_OPTS with the shared repository tail added to the options already set (proxy, memory), which are kept
+     */
+    public static String withSharedRepository(String mavenOpts) {
+        if (mavenOpts == null || mavenOpts.isBlank()) {
+            return M2_SHARED_MAVEN_OPTS;
+        }
+        return mavenOpts.contains(M2_SHARED_MAVEN_OPTS) ? mavenOpts : mavenOpts + " " + M2_SHARED_MAVEN_OPTS;
+    }
+
+    public void seed() throws Exception {
+        if (ConfigService.inKubernetes()) {
+            kubernetesService.seedSharedM2Repository();
+        } else {
+            dockerForKaravan.seedSharedM2Repository();
+        }
+    }
+}
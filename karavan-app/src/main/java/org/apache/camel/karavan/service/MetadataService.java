@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.vertx.ConsumeEvent;
+import io.vertx.core.json.JsonObject;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.KaravanCache;
+import org.apache.camel.karavan.model.Project;
+import org.apache.camel.karavan.model.ProjectFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import static org.apache.camel.karavan.KaravanEvents.*;
+
+/**
+ * Metadata documents for the designer, built once and kept in direct buffers together with their gzipped form and ETag.
+ * Kamelets include the custom kamelets project and are rebuilt only when that project changes.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class MetadataService {
+
+    public static final String KAMELETS = "kamelets";
+    public static final String COMPONENTS = "components";
+    public static final String BEANS = "beans";
+    public static final String MAIN_CONFIGURATION = "mainConfiguration";
+
+    private static final String KAMELET_SEPARATOR = "\n---\n";
+    private static final Map<String, String> RESOURCES = Map.of(
+            KAMELETS, "/metadata/kamelets.yaml",
+            COMPONENTS, "/metadata/components.json",
+            BEANS, "/metadata/spiBeans.json",
+            MAIN_CONFIGURATION, "/metadata/camel-main-configuration-metadata.json"
+    );
+
+    private final Map<String, Metadata> metadata = new ConcurrentHashMap<>();
+    private volatile byte[] kameletsResource;
+
+    private final KaravanCache karavanCache;
+
+    /**
+     * @param body document in a direct buffer, share it with {@link ByteBuf#duplicate()}
+     * @param gzip gzipped document, null if not precompressed
+     * @param etag content hash
+     */
+    public record Metadata(ByteBuf body, ByteBuf gzip, String etag) {
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        List.of(COMPONENTS, BEANS, MAIN_CONFIGURATION).forEach(this::get);
+        kameletsResource = readResource(RESOURCES.get(KAMELETS));
+    }
+
+    public Metadata get(String name) {
+        return metadata.computeIfAbsent(name, key -> {
+            byte[] bytes = Objects.equals(key, KAMELETS) ? buildKamelets() : readResource(RESOURCES.get(key));
+            return bytes != null ? create(bytes, true) : null;
+        });
+    }
+
+    /**
+     * Kamelets with the kamelets of the project appended, shares the precomputed kamelets buffer.
+     */
+    public Metadata getKamelets(String projectId) {
+        Metadata kamelets = get(KAMELETS);
+        String projectKamelets = karavanCache.getProjectFiles(projectId).stream()
+                .filter(f -> f.getName().endsWith(".kamelet.yaml"))
+                .map(ProjectFile::getCode)
+                .collect(Collectors.joining(KAMELET_SEPARATOR));
+        if (kamelets == null || projectKamelets.isEmpty()) {
+            return kamelets;
+        }
+        byte[] extra = (KAMELET_SEPARATOR + projectKamelets).getBytes(StandardCharsets.UTF_8);
+        ByteBuf body = Unpooled.wrappedBuffer(kamelets.body().duplicate(), Unpooled.wrappedBuffer(extra));
+        return new Metadata(body, null, kamelets.etag() + "-" + hash(extra));
+    }
+
+    private byte[] buildKamelets() {
+        byte[] resource = kameletsResource != null ? kameletsResource : readResource(RESOURCES.get(KAMELETS));
+        List<ProjectFile> custom = karavanCache.getProjectFiles(Project.Type.kamelets.name());
+        if (resource == null || custom.isEmpty()) {
+            return resource;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(resource.length + custom.size() * 4096);
+        out.writeBytes(resource);
+        custom.forEach(file -> out.writeBytes((KAMELET_SEPARATOR + file.getCode()).getBytes(StandardCharsets.UTF_8)));
+        return out.toByteArray();
+    }
+
+    @ConsumeEvent(value = PROJECT_FILE_SAVED)
+    void onFileSaved(JsonObject file) {
+        invalidateKamelets(file.getString("projectId"));
+    }
+
+    @ConsumeEvent(value = PROJECT_FILE_DELETED)
+    void onFileDeleted(JsonObject key) {
+        invalidateKamelets(key.getString("projectId"));
+    }
+
+    @ConsumeEvent(value = PROJECT_FILES_CHANGED)
+    void onFilesChanged(JsonObject batch) {
+        batch.getJsonArray("saved").forEach(file -> invalidateKamelets(((JsonObject) file).getString("projectId")));
+        batch.getJsonArray("deleted").forEach(key -> invalidateKamelets(((JsonObject) key).getString("projectId")));
+    }
+
+    @ConsumeEvent(value = NOTIFICATION_PROJECTS_STARTED)
+    void onProjectsStarted(String data) {
+        invalidateKamelets(Project.Type.kamelets.name());
+    }
+
+    private void invalidateKamelets(String projectId) {
+        if (Objects.equals(projectId, Project.Type.kamelets.name())) {
+            var removed = metadata.remove(KAMELETS);
+            if (removed != null) {
+                log.info("Custom kamelets changed, kamelets metadata will be rebuilt");
+            }
+        }
+    }
+
+    private static Metadata create(byte[] bytes, boolean compress) {
+        return new Metadata(direct(bytes), compress ? direct(gzip(bytes)) : null, hash(bytes));
+    }
+
+    /**
+     * Netty direct buffers are freed only by release, which an unreleasable buffer never gets, so a replaced kamelets
+     * document would leak. A JDK direct buffer is freed by the garbage collector once no response references it.
+     */
+    private static ByteBuf direct(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        return Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(buffer));
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] readResource(String path) {
+        try (InputStream inputStream = MetadataService.class.getResourceAsStream(path)) {
+            return inputStream != null ? inputStream.readAllBytes() : null;
+        } catch (IOException e) {
+            log.error("Error reading " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.vertx.ConsumeEvent;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.eventbus.Message;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.SseEventSink;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.jboss.resteasy.reactive.server.jaxrs.OutboundSseEventImpl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.apache.camel.karavan.listener.NotificationListener.*;
+
+/**
+ * Fans out notifications to SSE subscribers from a single event bus consumer per address.
+ * Every notification is encoded once and the same event is queued to all its subscribers.
+ * A slow browser loses its oldest notifications, see {@link SseSubscriber}.
+ */
+@Slf4j
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class NotificationHub {
+
+    private final Map<String, SseSubscriber> systemSubscribers = new ConcurrentHashMap<>();
+    private final Map<String, SseSubscriber> userSubscribers = new ConcurrentHashMap<>();
+
+    private final KaravanProperties properties;
+
+    public void subscribeSystem(String username, SseEventSink sink) {
+        subscribe(systemSubscribers, username, sink);
+    }
+
+    public void subscribeUser(String username, SseEventSink sink) {
+        subscribe(userSubscribers, username, sink);
+    }
+
+    private void subscribe(Map<String, SseSubscriber> subscribers, String username, SseEventSink sink) {
+        var previous = subscribers.put(username, new SseSubscriber(sink, properties.notification().maxPending()));
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    @ConsumeEvent(value = NOTIFICATION_ADDRESS_SYSTEM)
+    void onSystemNotification(Message<JsonObject> message) {
+        OutboundSseEvent event = toSseEvent(message);
+        systemSubscribers.forEach((username, subscriber) -> offer(systemSubscribers, username, subscriber, event));
+    }
+
+    @ConsumeEvent(value = NOTIFICATION_ADDRESS_USER)
+    void onUserNotification(Message<JsonObject> message) {
+        String username = message.headers().get(NOTIFICATION_HEADER_USER_ID);
+        SseSubscriber subscriber = username != null ? userSubscribers.get(username) : null;
+        if (subscriber != null) {
+            offer(userSubscribers, username, subscriber, toSseEvent(message));
+        }
+    }
+
+    /**
+     * Keeps idle connections open and removes subscribers that disconnected in the meantime.
+     */
+    public void ping() {
+        OutboundSseEvent event = new OutboundSseEventImpl.BuilderImpl().name("ping").data(String.class, "ping").build();
+        systemSubscribers.forEach((username, subscriber) -> offer(systemSubscribers, username, subscriber, event));
+        userSubscribers.forEach((username, subscriber) -> offer(userSubscribers, username, subscriber, event));
+    }
+
+    private void offer(Map<String, SseSubscriber> subscribers, String username, SseSubscriber subscriber, OutboundSseEvent event) {
+        if (!subscriber.offer(event)) {
+            subscribers.remove(username, subscriber);
+        }
+    }
+
+    private static OutboundSseEvent toSseEvent(Message<JsonObject> message) {
+        return new OutboundSseEventImpl.BuilderImpl()
+                .id(message.headers().get(NOTIFICATION_HEADER_EVENT_ID))
+                .name(message.headers().get(NOTIFICATION_HEADER_EVENT_NAME) + ":" + message.headers().get(NOTIFICATION_HEADER_CLASS_NAME))
+                .data(String.class, message.body().encode())
+                .build();
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        systemSubscribers.values().forEach(SseSubscriber::close);
+        userSubscribers.values().forEach(SseSubscriber::close);
+        systemSubscribers.clear();
+        userSubscribers.clear();
+    }
+}
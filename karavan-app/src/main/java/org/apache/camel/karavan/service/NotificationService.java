@@ -27,20 +27,23 @@ import java.util.concurrent.ConcurrentHashMap;
 @ApplicationScoped
 public class NotificationService {
 
-    private static final Map<String, SseEventSink> sinkMap = new ConcurrentHashMap<>();
+    private final Map<String, SseEventSink> sinkMap = new ConcurrentHashMap<>();
 
     public void sinkCleanup(String service, String username, SseEventSink eventSink) {
         String key = service + ":" + username;
-        if (sinkMap.containsKey(key)) {
-            var sink = sinkMap.get(key);
-            if (!sink.isClosed()) {
-                sink.close();
-            }
+        var sink = sinkMap.put(key, eventSink);
+        if (sink != null && sink != eventSink && !sink.isClosed()) {
+            sink.close();
         }
-        sinkMap.put(key, eventSink);
+        removeClosedSinks();
     }
 
     public List<SseEventSink> getSinks() {
+        removeClosedSinks();
         return new ArrayList<>(sinkMap.values());
     }
+
+    private void removeClosedSinks() {
+        sinkMap.values().removeIf(SseEventSink::isClosed);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.vertx.ConsumeEvent;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.SseEventSink;
+import lombok.RequiredArgsConstructor;
+import org.apache.camel.karavan.config.KaravanProperties;
+import org.jboss.resteasy.reactive.server.jaxrs.OutboundSseEventImpl;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.camel.karavan.KaravanEvents.*;
+
+/**
+ * Streams project and file changes of a project to its SSE subscribers, so the UI does not have to poll files.
+ * Every change gets a version (the SSE event id), prefixed by the instance start because versions restart from 0.
+ * The last changes of a project are kept while it has subscribers and for an idle time after the last one left, for clients resuming from a version.
+ * A client whose version is too old, or from another instance, receives a reset event and reloads the project files once.
+ * A subscriber that falls behind is disconnected rather than silently missing changes, it resumes on reconnect.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor(onConstructor_ = {@Inject})
+public class ProjectChangeService {
+
+    public static final String EVENT_VERSION = "version";
+    public static final String EVENT_RESET = "reset";
+    public static final String EVENT_FILE_SAVED = "fileSaved";
+    public static final String EVENT_FILE_DELETED = "fileDeleted";
+    public static final String EVENT_FILES_CHANGED = "filesChanged";
+    public static final String EVENT_PROJECT_SAVED = "projectSaved";
+    public static final String EVENT_PROJECT_DELETED = "projectDeleted";
+    public static final String EVENT_BUILD_QUEUE = "buildQueue";
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36) + "-";
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, ProjectChanges> projects = new ConcurrentHashMap<>();
+
+    private final KaravanProperties properties;
+
+    /**
+     * @param since last version (event id) seen by the client, null for a new client
+     */
+    public void subscribe(String projectId, String since, SseEventSink sink) {
+        var subscriber = new SseSubscriber(sink, properties.changes().maxPending(), true);
+        projects.compute(projectId, (key, changes) -> {
+            if (changes == null) {
+                changes = new ProjectChanges(projectId, version.get());
+            }
+            changes.subscribe(subscriber, since);
+            return changes;
+        });
+    }
+
+    @ConsumeEvent(value = PROJECT_FILE_SAVED)
+    void onFileSaved(JsonObject file) {
+        publish(file.getString("projectId"), EVENT_FILE_SAVED, file);
+    }
+
+    @ConsumeEvent(value = PROJECT_FILE_DELETED)
+    void onFileDeleted(JsonObject key) {
+        String projectId = key.getString("projectId");
+        publish(projectId, EVENT_FILE_DELETED, JsonObject.of("projectId", projectId, "name", key.getString("key")));
+    }
+
+    @ConsumeEvent(value = PROJECT_FILES_CHANGED)
+    void onFilesChanged(JsonObject batch) {
+        Map<String, JsonObject> changes = new LinkedHashMap<>();
+        batch.getJsonArray("saved").forEach(file -> {
+            String projectId = ((JsonObject) file).getString("projectId");
+            filesChanged(changes, projectId).getJsonArray("saved").add(file);
+        });
+        batch.getJsonArray("deleted").forEach(key -> {
+            String projectId = ((JsonObject) key).getString("projectId");
+            filesChanged(changes, projectId).getJsonArray("deleted").add(((JsonObject) key).getString("key"));
+        });
+        changes.forEach((projectId, data) -> publish(projectId, EVENT_FILES_CHANGED, data));
+    }
+
+    private static JsonObject filesChanged(Map<String, JsonObject> changes, String projectId) {
+        return changes.computeIfAbsent(projectId, id -> JsonObject.of("projectId", id, "saved", new JsonArray(), "deleted", new JsonArray()));
+    }
+
+    @ConsumeEvent(value = PROJECT_SAVED)
+    void onProjectSaved(JsonObject project) {
+        publish(project.getString("projectId"), EVENT_PROJECT_SAVED, project);
+    }
+
+    @ConsumeEvent(value = PROJECT_DELETED)
+    void onProjectDeleted(JsonObject key) {
+        String projectId = key.getString("projectId");
+        publish(projectId, EVENT_PROJECT_DELETED, JsonObject.of("projectId", projectId));
+        var changes = projects.remove(projectId);
+        if (changes != null) {
+            changes.close();
+        }
+    }
+
+    @ConsumeEvent(value = BUILD_QUEUE_UPDATED)
+    void onBuildQueueUpdated(JsonObject item) {
+        publish(item.getString("projectId"), EVENT_BUILD_QUEUE, item);
+    }
+
+    private void publish(String projectId, String name, JsonObject data) {
+        if (projectId != null) {
+            // the version moves even without subscribers, a client resuming from an older one gets a reset
+            long v = version.incrementAndGet();
+            var changes = projects.get(projectId);
+            if (changes != null) {
+                changes.publish(v, name, data);
+            }
+        }
+    }
+
+    /**
+     * Keeps idle connections open, removes subscribers that disconnected in the meantime and projects idle for the idle time.
+     */
+    public void ping() {
+        OutboundSseEvent event = new OutboundSseEventImpl.BuilderImpl().name("ping").data(String.class, "ping").build();
+        projects.keySet().forEach(projectId -> projects.computeIfPresent(projectId, (key, changes) -> {
+            changes.send(event);
+            if (changes.isIdle()) {
+                changes.close();
+                return null;
+            }
+            return changes;
+        }));
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        projects.values().forEach(ProjectChanges::close);
+        projects.clear();
+    }
+
+    private static String toId(long version) {
+        return EPOCH + version;
+    }
+
+    /**
+     * @return the version of an event id of this instance, -1 for an id of another instance or a malformed one
+     */
+    private static long fromId(String id) {
+        if (id != null && id.startsWith(EPOCH)) {
+            try {
+                return Long.parseLong(id.substring(EPOCH.length()));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static OutboundSseEvent toSseEvent(long version, String name, String data) {
+        return new OutboundSseEventImpl.BuilderImpl()
+                .id(toId(version))
+                .name(name)
+                .data(String.class, data)
+                .build();
+    }
+
+    private class ProjectChanges {
+
+        private final String projectId;
+        private final ArrayDeque<Change> history = new ArrayDeque<>();
+        private final List<SseSubscriber> subscribers = new CopyOnWriteArrayList<>();
+        private long evicted;
+        private long idleSince = 0;
+
+        ProjectChanges(String projectId, long evicted) {
+            this.projectId = projectId;
+            this.evicted = evicted;
+        }
+
+        synchronized void publish(long v, String name, JsonObject data) {
+            if (v <= evicted) {
+                return;
+            }
+            var event = toSseEvent(v, name, data.copy().put("version", toId(v)).encode());
+            history.addLast(new Change(v, event));
+            while (history.size() > properties.changes().historySize()) {
+                evicted = history.pollFirst().version();
+            }
+            send(event);
+        }
+
+        synchronized void subscribe(SseSubscriber subscriber, String since) {
+            long current = version.get();
+            long resume = fromId(since);
+            if (since == null) {
+                subscriber.offer(toSseEvent(current, EVENT_VERSION, JsonObject.of("projectId", projectId, "version", toId(current)).encode()));
+            } else if (resume < evicted || resume > current) {
+                subscriber.offer(toSseEvent(current, EVENT_RESET, JsonObject.of("projectId", projectId, "version", toId(current)).encode()));
+            } else {
+                history.stream().filter(change -> change.version() > resume).forEach(change -> subscriber.offer(change.event()));
+            }
+            subscribers.add(subscriber);
+            idleSince = 0;
+        }
+
+        synchronized void send(OutboundSseEvent event) {
+            subscribers.removeIf(subscriber -> !subscriber.offer(event));
+            if (subscribers.isEmpty() && idleSince == 0) {
+                idleSince = System.currentTimeMillis();
+            }
+        }
+
+        /**
+         * No subscriber for the idle time, a tab reconnecting within it still resumes from the history
+         */
+        synchronized boolean isIdle() {
+            return subscribers.isEmpty() && idleSince > 0
+                    && System.currentTimeMillis() - idleSince >= properties.changes().idleTime().toMillis();
+        }
+
+        synchronized void close() {
+            subscribers.forEach(SseSubscriber::close);
+            subscribers.clear();
+            history.clear();
+        }
+    }
+
+    private record Change(long version, OutboundSseEvent event) {
+    }
+}
@@ -36,8 +36,9 @@ import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jgit.revwalk.RevCommit;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
@@ -56,10 +57,12 @@ public class ProjectService {
 
     private static final String DEFAULT_AUTHOR_NAME = "karavan";
     private static final String DEFAULT_AUTHOR_EMAIL = "karavan@test.org";
+    private static final int ARCHIVE_IMPORT_BATCH_SIZE = 200;
 
     private final KaravanProperties properties;
     private final KaravanCache karavanCache;
     private final GitService gitService;
+    private final GitCommitService gitCommitService;
     private final CodeService codeService;
     private final KubernetesService kubernetesService;
     private final DockerForKaravan dockerForKaravan;
@@ -70,33 +73,76 @@ public class ProjectService {
         return commitAndPushProject(projectId, message, DEFAULT_AUTHOR_NAME, DEFAULT_AUTHOR_EMAIL, fileNames);
     }
 
+    public record CommitRequest(String projectId, String message, String authorName, String authorEmail, List<String> fileNames) {
+    }
+
+    /**
+     * @param project committed project, null if the commit failed
+     */
+    public record CommitResult(CommitRequest request, Project project, String error) {
+    }
+
     public Project commitAndPushProject(String projectId, String message, String authorName, String authorEmail, List<String> fileNames) throws Exception {
-        if (Objects.equals(properties.environment(), DEV)) {
-            log.info("Commit project: " + projectId);
-            Project p = karavanCache.getProject(projectId);
-            List<ProjectFile> files = karavanCache.getProjectFiles(projectId);
-            RevCommit commit = gitService.commitAndPushProject(p, files, message, authorName, authorEmail, fileNames);
-            karavanCache.syncFilesCommited(projectId, fileNames);
-            String commitId = commit.getId().getName();
-            Long lastUpdate = commit.getCommitTime() * 1000L;
-            p.setLastCommit(commitId);
-            p.setLastCommitTimestamp(lastUpdate);
-            karavanCache.saveProject(p, false);
-            return p;
-        } else {
+        CommitResult result = commitAndPushProjects(List.of(new CommitRequest(projectId, message, authorName, authorEmail, fileNames))).getFirst();
+        if (result.project() == null) {
+            throw new IllegalStateException(result.error());
+        }
+        return result.project();
+    }
+
+    /**
+     * Commits every request as its own commit and pushes them together
+     *
+     * @return results in the order of the requests
+     */
+    public List<CommitResult> commitAndPushProjects(List<CommitRequest> requests) throws Exception {
+        if (!Objects.equals(properties.environment(), DEV)) {
             throw new RuntimeException("Unsupported environment: " + properties.environment());
         }
+        List<CommitRequest> toCommit = new ArrayList<>(requests.size());
+        List<GitCommitService.ProjectChange> changes = new ArrayList<>(requests.size());
+        requests.forEach(request -> {
+            Project p = karavanCache.getProject(request.projectId());
+            if (p != null) {
+                log.info("Commit project: " + request.projectId());
+                toCommit.add(request);
+                changes.add(new GitCommitService.ProjectChange(p, karavanCache.getProjectFiles(request.projectId()),
+                        request.message(), request.authorName(), request.authorEmail(), request.fileNames()));
+            }
+        });
+        List<GitCommitService.ChangeResult> commits = changes.isEmpty() ? List.of() : gitCommitService.commitAndPushProjects(changes);
+        Map<CommitRequest, GitCommitService.ChangeResult> committed = new IdentityHashMap<>();
+        for (int i = 0; i < toCommit.size(); i++) {
+            committed.put(toCommit.get(i), commits.get(i));
+        }
+        return requests.stream().map(request -> {
+            if (!committed.containsKey(request)) {
+                return new CommitResult(request, null, "Project not found: " + request.projectId());
+            }
+            RevCommit commit = committed.get(request).commit();
+            if (commit == null) {
+                return new CommitResult(request, null, "Commit of project " + request.projectId() + " failed: " + committed.get(request).error());
+            }
+            karavanCache.syncFilesCommited(request.projectId(), request.fileNames());
+            Project p = karavanCache.getProject(request.projectId());
+            p.setLastCommit(commit.getId().getName());
+            p.setLastCommitTimestamp(commit.getCommitTime() * 1000L);
+            karavanCache.saveProject(p, false);
+            return new CommitResult(request, p, null);
+        }).toList();
     }
 
     public String runProjectInDeveloperMode(String projectId, Boolean verbose, Boolean compile, Map<String, String> labels, Map<String, String> envVars) throws Exception {
         String containerName = projectId;
         PodContainerStatus status = karavanCache.getDevModePodContainerStatus(projectId, properties.environment());
-        if (status == null) {
+        if (status != null) {
+            status = status.copy();
+        } else {
             status = PodContainerStatus.createDevMode(projectId, properties.environment());
         }
         if (!Objects.equals(status.getState(), PodContainerStatus.State.running.name())) {
             status.setInTransit(true);
-            eventBus.publish(POD_CONTAINER_UPDATED, JsonObject.mapFrom(status));
+            eventBus.publish(POD_CONTAINER_UPDATED, status);
 
             Map<String, String> files = codeService.getProjectFilesForDevMode(projectId, true);
             String projectDevmodeImage = codeService.getProjectDevModeImage(projectId);
@@ -119,10 +165,17 @@ public class ProjectService {
         return DockerComposeConverter.fromCode(composeCode, projectId);
     }
 
-    public void buildProject(Project project, String tag) throws Exception {
-        tag = tag != null && !tag.isEmpty() && !tag.isBlank()
+    /**
+     * @return the tag, a timestamp tag if it is empty
+     */
+    public static String getBuildTag(String tag) {
+        return tag != null && !tag.isEmpty() && !tag.isBlank()
                 ? tag
                 : Instant.now().toString().substring(0, 19).replace(":", "-");
+    }
+
+    public void buildProject(Project project, String tag) throws Exception {
+        tag = getBuildTag(tag);
 
         if (ConfigService.inKubernetes()) {
             String podFragment = codeService.getBuilderPodFragment();
@@ -160,10 +213,10 @@ public class ProjectService {
         try {
             Project project = getProjectFromRepo(repo);
             karavanCache.saveProject(project, false);
-            repo.getFiles().forEach(repoFile -> {
-                ProjectFile file = new ProjectFile(repoFile.getName(), repoFile.getBody(), repo.getName(), repoFile.getLastCommitTimestamp());
-                karavanCache.saveProjectFile(file, true, false);
-            });
+            List<ProjectFile> files = repo.getFiles().stream()
+                    .map(repoFile -> new ProjectFile(repoFile.getName(), repoFile.getBody(), repo.getName(), repoFile.getLastCommitTimestamp()))
+                    .toList();
+            karavanCache.updateProjectFiles(files, List.of(), true, false);
             karavanCache.syncFilesCommited(project.getProjectId(), karavanCache.getProjectFiles(project.getProjectId()).stream().map(ProjectFile::getName).collect(Collectors.toList()));
         } catch (Exception e) {
             log.error("Error during project import", e);
@@ -181,91 +234,92 @@ public class ProjectService {
         }
     }
 
+    /**
+     * Reads the archive entry by entry and saves projects and files in batches, only one batch of files is held in memory
+     */
     public void importProjectFromArchiveFile(InputStream projectArchiveInputStream, boolean overwriteExistingFiles) throws Exception {
         log.info("Import project(s) from archive file");
         try (ZipArchiveInputStream zipArchiveInputStream = new ZipArchiveInputStream(projectArchiveInputStream)) {
-            ZipArchiveEntry zipArchiveEntry = zipArchiveInputStream.getNextEntry();
-            Map<String, String> projects = new HashMap<>();
-            Map<String, List<ProjectFile>> files = new HashMap<>();
-            while (zipArchiveEntry != null) {
-                if (zipArchiveInputStream.canReadEntryData(zipArchiveEntry)) {
-                    String zipArchiveEntryName = zipArchiveEntry.getName().replace("\\", "/");
-                    if (!zipArchiveEntry.isDirectory() && StringUtils.countMatches(zipArchiveEntryName, "/") == 1) {
-                        String[] nameParts = zipArchiveEntryName.split("/");
-                        if (Arrays.stream(nameParts).allMatch(name -> !name.isBlank() && !name.equals(".") && !name.equals(".."))) {
-                            String parentFolderName = nameParts[nameParts.length - 2];
-                            String fileName = nameParts[nameParts.length - 1];
-                            if (parentFolderName.matches("[a-zA-Z0-9-]{5,}")) {
-                                boolean projectFileExists = karavanCache.getProjectFile(parentFolderName, fileName) != null;
-                                if (!projectFileExists || overwriteExistingFiles) {
-                                    log.debug("Importing file: " + zipArchiveEntryName);
-                                    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-                                    byte[] buffer = new byte[4096];
-                                    int len;
-                                    while ((len = zipArchiveInputStream.read(buffer)) != -1) {
-                                        byteArrayOutputStream.write(buffer, 0, len);
-                                    }
-                                    String fileContent = byteArrayOutputStream.toString(zipArchiveInputStream.getCharset());
-                                    if (fileName.equals(APPLICATION_PROPERTIES_FILENAME)) {
-                                        String projectName = codeService.getProjectName(fileContent);
-                                        projects.put(parentFolderName, projectName);
-                                    } else if (!projects.containsKey(parentFolderName)) {
-                                        projects.put(parentFolderName, parentFolderName);
-                                    }
-                                    List<ProjectFile> projectFiles = new ArrayList<>();
-                                    if (files.containsKey(parentFolderName)) {
-                                        projectFiles.addAll(files.get(parentFolderName));
-                                    }
-                                    projectFiles.add(new ProjectFile(fileName, fileContent, parentFolderName, null));
-                                    files.put(parentFolderName, projectFiles);
-                                } else {
-                                    log.debug("Skipping file: " + zipArchiveEntryName);
-                                }
+            ArchiveImport archiveImport = new ArchiveImport();
+            ZipArchiveEntry zipArchiveEntry;
+            while ((zipArchiveEntry = zipArchiveInputStream.getNextEntry()) != null) {
+                if (!zipArchiveInputStream.canReadEntryData(zipArchiveEntry)) {
+                    continue;
+                }
+                String zipArchiveEntryName = zipArchiveEntry.getName().replace("\\", "/");
+                if (!zipArchiveEntry.isDirectory() && StringUtils.countMatches(zipArchiveEntryName, "/") == 1) {
+                    String[] nameParts = zipArchiveEntryName.split("/");
+                    if (Arrays.stream(nameParts).allMatch(name -> !name.isBlank() && !name.equals(".") && !name.equals(".."))) {
+                        String parentFolderName = nameParts[nameParts.length - 2];
+                        String fileName = nameParts[nameParts.length - 1];
+                        if (parentFolderName.matches("[a-zA-Z0-9-]{5,}")) {
+                            boolean projectFileExists = karavanCache.getProjectFile(parentFolderName, fileName) != null;
+                            if (!projectFileExists || overwriteExistingFiles) {
+                                log.debug("Importing file: " + zipArchiveEntryName);
+                                String fileContent = new String(zipArchiveInputStream.readAllBytes(), zipArchiveInputStream.getCharset());
+                                archiveImport.add(parentFolderName, fileName, fileContent);
+                            } else {
+                                log.debug("Skipping file: " + zipArchiveEntryName);
                             }
                         }
                     }
-                    zipArchiveEntry = zipArchiveInputStream.getNextEntry();
-                }
-            }
-
-            for (Map.Entry<String, String> entry : projects.entrySet()) {
-                Project project = new Project(entry.getKey(), entry.getValue());
-                karavanCache.saveProject(project, false);
-            }
-
-            for (Map.Entry<String, List<ProjectFile>> entry : files.entrySet()) {
-                for (ProjectFile projectFile : entry.getValue()) {
-                    karavanCache.saveProjectFile(projectFile, false, false);
                 }
             }
-
+            archiveImport.flush();
         } catch (Exception e) {
             log.error("Error during project import", e);
             throw e;
         }
     }
 
-    public byte[] downloadProjectArchiveFile(String projectId) throws Exception {
-        Project project = karavanCache.getProject(projectId);
-        if (project != null) {
+    private class ArchiveImport {
 
-            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(byteArrayOutputStream);
-            List<ProjectFile> projectFiles = karavanCache.getProjectFiles(projectId);
+        private final Map<String, String> projects = new HashMap<>();
+        private final Set<String> projectsToSave = new LinkedHashSet<>();
+        private final List<ProjectFile> files = new ArrayList<>(ARCHIVE_IMPORT_BATCH_SIZE);
 
-            for (ProjectFile projectFile : projectFiles) {
+        void add(String projectId, String fileName, String fileContent) {
+            if (fileName.equals(APPLICATION_PROPERTIES_FILENAME)) {
+                projects.put(projectId, codeService.getProjectName(fileContent));
+                projectsToSave.add(projectId);
+            } else if (!projects.containsKey(projectId)) {
+                projects.put(projectId, projectId);
+                projectsToSave.add(projectId);
+            }
+            files.add(new ProjectFile(fileName, fileContent, projectId, null));
+            if (files.size() >= ARCHIVE_IMPORT_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        // projects are saved before their files, a project is saved again if its name is read after its first files
+        void flush() {
+            projectsToSave.forEach(projectId -> karavanCache.saveProject(new Project(projectId, projects.get(projectId)), false));
+            projectsToSave.clear();
+            if (!files.isEmpty()) {
+                karavanCache.updateProjectFiles(List.copyOf(files), List.of(), false, false);
+                files.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes the files of the projects as a zip archive, one folder per project, directly to the output
+     */
+    public void writeProjectsArchive(Collection<String> projectIds, OutputStream outputStream) throws IOException {
+        ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(outputStream);
+        for (String projectId : projectIds) {
+            for (ProjectFile projectFile : karavanCache.getProjectFiles(projectId)) {
                 ZipArchiveEntry entry = new ZipArchiveEntry(projectId + "/" + projectFile.getName());
-                byte[] data = projectFile.getCode().getBytes(StandardCharsets.UTF_8);
+                byte[] data = Objects.requireNonNullElse(projectFile.getCode(), "").getBytes(StandardCharsets.UTF_8);
                 entry.setSize(data.length);
                 zipOutputStream.putArchiveEntry(entry);
                 zipOutputStream.write(data);
                 zipOutputStream.closeArchiveEntry();
             }
-
-            zipOutputStream.finish();
-            return byteArrayOutputStream.toByteArray();
+            zipOutputStream.flush();
         }
-        return null;
+        zipOutputStream.finish();
     }
 
     public String getDockerDevServiceCode() {
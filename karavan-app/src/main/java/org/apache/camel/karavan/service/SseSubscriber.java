@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan.service;
+
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.SseEventSink;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+
+/**
+ * SSE connection with one frame in flight and a bounded queue of pending events.
+ * A subscriber that cannot keep up loses its oldest events instead of growing the queue,
+ * or is disconnected when it must not miss events and can resume on reconnect.
+ */
+@Slf4j
+class SseSubscriber {
+
+    private final SseEventSink sink;
+    private final int maxPending;
+    private final boolean closeOnOverflow;
+    private final ArrayDeque<OutboundSseEvent> pending = new ArrayDeque<>();
+    private boolean sending = false;
+    private boolean closed = false;
+
+    SseSubscriber(SseEventSink sink, int maxPending) {
+        this(sink, maxPending, false);
+    }
+
+    SseSubscriber(SseEventSink sink, int maxPending, boolean closeOnOverflow) {
+        this.sink = sink;
+        this.maxPending = maxPending;
+        this.closeOnOverflow = closeOnOverflow;
+    }
+
+    /**
+     * @return false if the subscriber is gone and should be removed
+     */
+    synchronized boolean offer(OutboundSseEvent event) {
+        if (closed || sink.isClosed()) {
+            closed = true;
+            pending.clear();
+            return false;
+        }
+        if (pending.size() >= maxPending && closeOnOverflow) {
+            log.warn("SSE subscriber is too slow, disconnected");
+            close();
+            return false;
+        } else if (pending.size() >= maxPending) {
+            pending.pollFirst();
+            log.warn("SSE subscriber is too slow, oldest event dropped");
+        }
+        pending.addLast(event);
+        if (!sending) {
+            sendNext();
+        }
+        return true;
+    }
+
+    private void sendNext() {
+        OutboundSseEvent event = pending.pollFirst();
+        if (event == null || closed) {
+            sending = false;
+            return;
+        }
+        sending = true;
+        try {
+            sink.send(event).whenComplete((result, error) -> {
+                synchronized (this) {
+                    if (error != null) {
+                        close();
+                    } else {
+                        sendNext();
+                    }
+                }
+            });
+        } catch (Exception e) {
+            close();
+        }
+    }
+
+    synchronized void close() {
+        closed = true;
+        sending = false;
+        pending.clear();
+        if (!sink.isClosed()) {
+            try {
+                sink.close();
+            } catch (Exception e) {
+                log.error(e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.karavan;
+
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
+import org.apache.camel.karavan.model.GroupedKey;
+import org.apache.camel.karavan.model.ProjectFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.apache.camel.karavan.KaravanConstants.DEV;
+import static org.apache.camel.karavan.KaravanEvents.PROJECT_FILES_CHANGED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KaravanCacheTest {
+
+    private record Published(String address, Object message) {
+    }
+
+    private final List<Published> published = new ArrayList<>();
+    private KaravanCache karavanCache;
+
+    @BeforeEach
+    void setUp() {
+        published.clear();
+        EventBus eventBus = (EventBus) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{EventBus.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("publish")) {
+                        published.add(new Published((String) args[0], args[1]));
+                    }
+                    return method.getReturnType().isInstance(proxy) ? proxy : null;
+                });
+        karavanCache = new KaravanCache(eventBus);
+    }
+
+    @Test
+    void updateProjectFilesPublishesOneEventPerBatch() {
+        List<ProjectFile> files = IntStream.range(0, 500)
+                .mapToObj(i -> new ProjectFile("route-" + i + ".camel.yaml", "- route: " + i, "demo", 0L))
+                .toList();
+        karavanCache.updateProjectFiles(files, List.of(), false, false);
+
+        assertEquals(1, published.size());
+        assertEquals(PROJECT_FILES_CHANGED, published.getFirst().address());
+        JsonObject batch = (JsonObject) published.getFirst().message();
+        assertEquals(500, batch.getJsonArray("saved").size());
+        assertTrue(batch.getJsonArray("deleted").isEmpty());
+
+        published.clear();
+        List<GroupedKey> keys = files.stream().limit(200).map(f -> new GroupedKey("demo", DEV, f.getName())).toList();
+        karavanCache.updateProjectFiles(files.subList(200, 300), keys, false, false);
+
+        assertEquals(1, published.size());
+        batch = (JsonObject) published.getFirst().message();
+        assertEquals(100, batch.getJsonArray("saved").size());
+        assertEquals(200, batch.getJsonArray("deleted").size());
+    }
+
+    @Test
+    void updateProjectFilesOnStartupPublishesNothing() {
+        karavanCache.updateProjectFiles(List.of(new ProjectFile("a.camel.yaml", "- route: a", "demo", 0L)), List.of(), true, true);
+
+        assertTrue(published.isEmpty());
+        assertEquals(1, karavanCache.getProjectFiles("demo").size());
+    }
+}